@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.cloudsql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.api.services.sqladmin.model.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbSettingsConversionBenchmark {
+
+    @Param({ "10", "100" })
+    private int entryCount;
+
+    private DbSettings settings;
+
+    @Setup
+    public void setup() {
+        List<DbDatabaseFlag> flags = new ArrayList<>();
+        List<DbAclEntry> authorizedNetworks = new ArrayList<>();
+        Map<String, String> userLabels = new HashMap<>();
+
+        for (int i = 0; i < entryCount; i++) {
+            DbDatabaseFlag flag = new DbDatabaseFlag();
+            flag.setName("flag_" + i);
+            flag.setValue(String.valueOf(i));
+            flags.add(flag);
+
+            DbAclEntry entry = new DbAclEntry();
+            entry.setName("network-" + i);
+            entry.setValue(String.format("10.%d.%d.0/24", i / 256, i % 256));
+            authorizedNetworks.add(entry);
+
+            userLabels.put("label-" + i, "value-" + i);
+        }
+
+        DbIpConfiguration ipConfiguration = new DbIpConfiguration();
+        ipConfiguration.setIpv4Enabled(true);
+        ipConfiguration.setSslMode("ENCRYPTED_ONLY");
+        ipConfiguration.setAuthorizedNetworks(authorizedNetworks);
+
+        DbBackupConfiguration backupConfiguration = new DbBackupConfiguration();
+        backupConfiguration.setEnabled(true);
+        backupConfiguration.setBinaryLogEnabled(true);
+        backupConfiguration.setPointInTimeRecoveryEnabled(false);
+        backupConfiguration.setStartTime("03:00");
+        backupConfiguration.setTransactionLogRetentionDays(7);
+
+        settings = new DbSettings();
+        settings.setTier("db-custom-4-16384");
+        settings.setEdition("ENTERPRISE");
+        settings.setAvailabilityType("REGIONAL");
+        settings.setDataDiskSizeGb(100L);
+        settings.setDataDiskType("PD_SSD");
+        settings.setStorageAutoResize(true);
+        settings.setDeletionProtectionEnabled(true);
+        settings.setSettingsVersion(42L);
+        settings.setIpConfiguration(ipConfiguration);
+        settings.setBackupConfiguration(backupConfiguration);
+        settings.setDatabaseFlags(flags);
+        settings.setUserLabels(userLabels);
+    }
+
+    @Benchmark
+    public Settings toSettings() {
+        return settings.toSettings();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.compute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.compute.v1.Firewall;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FirewallConversionBenchmark {
+
+    @Param({ "10", "100" })
+    private int rangeCount;
+
+    private FirewallResource firewall;
+
+    @Setup
+    public void setup() {
+        NetworkResource network = new NetworkResource();
+        network.setName("network-benchmark");
+        network.setSelfLink("https://www.googleapis.com/compute/v1/projects/benchmark"
+            + "/global/networks/network-benchmark");
+
+        Set<String> sourceRanges = new HashSet<>();
+        Set<String> sourceTags = new HashSet<>();
+        Set<String> targetTags = new HashSet<>();
+
+        for (int i = 0; i < rangeCount; i++) {
+            sourceRanges.add(String.format("10.%d.%d.0/24", i / 256, i % 256));
+            sourceTags.add("source-" + i);
+            targetTags.add("target-" + i);
+        }
+
+        List<FirewallAllowed> allowed = new ArrayList<>();
+
+        for (String protocol : Arrays.asList("tcp", "udp")) {
+            FirewallAllowed rule = new FirewallAllowed();
+            rule.setProtocol(protocol);
+            rule.setPorts(new HashSet<>(Arrays.asList("22", "80", "443", "8000-8999")));
+            allowed.add(rule);
+        }
+
+        firewall = new FirewallResource();
+        firewall.setName("firewall-benchmark");
+        firewall.setNetwork(network);
+        firewall.setDescription("Firewall benchmark");
+        firewall.setDirection("INGRESS");
+        firewall.setPriority(1000);
+        firewall.setDisabled(false);
+        firewall.setLogConfig(true);
+        firewall.setRuleType("ALLOW");
+        firewall.setAllowed(allowed);
+        firewall.setSourceRanges(sourceRanges);
+        firewall.setSourceTags(sourceTags);
+        firewall.setTargetTags(targetTags);
+    }
+
+    @Benchmark
+    public Firewall toFirewall() {
+        return firewall.toFirewall();
+    }
+}
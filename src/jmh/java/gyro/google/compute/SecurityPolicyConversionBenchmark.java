@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.compute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.compute.v1.SecurityPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityPolicyConversionBenchmark {
+
+    @Param({ "20", "200" })
+    private int ruleCount;
+
+    private SecurityPolicyResource securityPolicy;
+
+    @Setup
+    public void setup() {
+        securityPolicy = new SecurityPolicyResource();
+        securityPolicy.setName("security-policy-benchmark");
+        securityPolicy.setDescription("Security policy benchmark");
+        securityPolicy.setSecurityPolicyType("CLOUD_ARMOR");
+        securityPolicy.setFingerprint("Wb9ZbXlmcRY=");
+        securityPolicy.setSelfLink("https://www.googleapis.com/compute/v1/projects/benchmark"
+            + "/global/securityPolicies/security-policy-benchmark");
+
+        SecurityPolicyAdaptiveProtection adaptiveProtection = new SecurityPolicyAdaptiveProtection();
+        adaptiveProtection.setEnabled(true);
+        adaptiveProtection.setRuleVisibility("STANDARD");
+        securityPolicy.setAdaptiveProtectionConfig(adaptiveProtection);
+
+        SecurityPolicyAdvancedOptions advancedOptions = new SecurityPolicyAdvancedOptions();
+        advancedOptions.setLogLevel("VERBOSE");
+        advancedOptions.setJsonParsing("STANDARD");
+        securityPolicy.setAdvancedOptionsConfig(advancedOptions);
+
+        List<SecurityPolicyRule> rules = new ArrayList<>(ruleCount);
+
+        for (int i = 0; i < ruleCount; i++) {
+            List<String> srcIpRanges = new ArrayList<>();
+
+            // Cloud Armor allows up to 10 source ranges per basic match condition.
+            for (int j = 0; j < 10; j++) {
+                srcIpRanges.add(String.format("10.%d.%d.0/24", i % 256, j));
+            }
+
+            SecurityPolicyRuleMatcherConfig config = new SecurityPolicyRuleMatcherConfig();
+            config.setSrcIpRanges(srcIpRanges);
+
+            SecurityPolicyRuleMatcher match = new SecurityPolicyRuleMatcher();
+            match.setVersionedExpr("SRC_IPS_V1");
+            match.setConfig(config);
+
+            SecurityPolicyRule rule = new SecurityPolicyRule();
+            rule.setDescription("rule-" + i);
+            rule.setPriority(1000 + i);
+            rule.setAction(i % 2 == 0 ? "allow" : "deny(403)");
+            rule.setPreview(false);
+            rule.setMatch(match);
+            rules.add(rule);
+        }
+
+        securityPolicy.setRule(rules);
+    }
+
+    @Benchmark
+    public SecurityPolicy toSecurityPolicy() {
+        return securityPolicy.toSecurityPolicy();
+    }
+
+    @Benchmark
+    public void toSecurityPolicyRule(Blackhole blackhole) {
+        for (SecurityPolicyRule rule : securityPolicy.getRule()) {
+            blackhole.consume(rule.toSecurityPolicyRule());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.api.services.dns.model.ResourceRecordSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceRecordSetConversionBenchmark {
+
+    @Param({ "500", "10000" })
+    private int recordCount;
+
+    private List<ResourceRecordSetResource> records;
+
+    @Setup
+    public void setup() {
+        records = new ArrayList<>(recordCount);
+
+        for (int i = 0; i < recordCount; i++) {
+            ResourceRecordSetResource record = new ResourceRecordSetResource();
+            record.setName(String.format("host-%d.example.com.", i));
+            record.setType("A");
+            record.setTtl(300);
+            record.setRrdatas(Arrays.asList(
+                String.format("10.0.%d.%d", (i / 256) % 256, i % 256),
+                String.format("10.1.%d.%d", (i / 256) % 256, i % 256)));
+            records.add(record);
+        }
+    }
+
+    @Benchmark
+    public void toResourceRecordSet(Blackhole blackhole) {
+        for (ResourceRecordSetResource record : records) {
+            ResourceRecordSet model = record.toResourceRecordSet();
+            blackhole.consume(model);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.gke;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.container.v1.NodePool;
+import com.google.container.v1.NodeTaint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GkeNodePoolConversionBenchmark {
+
+    @Param({ "12", "100" })
+    private int nodePoolCount;
+
+    private List<GkeNodePool> nodePools;
+
+    @Setup
+    public void setup() {
+        nodePools = new ArrayList<>(nodePoolCount);
+
+        for (int i = 0; i < nodePoolCount; i++) {
+            GkeNodeConfig config = new GkeNodeConfig();
+            config.setMachineType("n2-standard-8");
+            config.setDiskSizeGb(200);
+            config.setDiskType("pd-ssd");
+            config.setImageType("COS_CONTAINERD");
+            config.setOauthScopes(new HashSet<>(Arrays.asList(
+                "https://www.googleapis.com/auth/cloud-platform",
+                "https://www.googleapis.com/auth/logging.write",
+                "https://www.googleapis.com/auth/monitoring")));
+
+            Map<String, String> labels = new HashMap<>();
+            Map<String, String> metadata = new HashMap<>();
+            List<String> tags = new ArrayList<>();
+
+            for (int j = 0; j < 32; j++) {
+                labels.put("label-" + j, "value-" + j);
+                metadata.put("metadata-" + j, "value-" + j);
+                tags.add("tag-" + j);
+            }
+
+            config.setLabels(labels);
+            config.setMetadata(metadata);
+            config.setTags(tags);
+
+            GkeNodeTaint taint = new GkeNodeTaint();
+            taint.setKey("dedicated");
+            taint.setValue("pool-" + i);
+            taint.setEffect(NodeTaint.Effect.NO_SCHEDULE);
+            config.setTaint(new HashSet<>(Arrays.asList(taint)));
+
+            GkeNodePool nodePool = new GkeNodePool();
+            nodePool.setName("pool-" + i);
+            nodePool.setInitialNodeCount(3);
+            nodePool.setVersion("1.29.4-gke.1043002");
+            nodePool.setLocations(Arrays.asList("us-central1-a", "us-central1-b", "us-central1-c"));
+            nodePool.setConfig(config);
+            nodePools.add(nodePool);
+        }
+    }
+
+    @Benchmark
+    public void buildNodePool(Blackhole blackhole) {
+        for (GkeNodePool nodePool : nodePools) {
+            NodePool model = nodePool.buildNodePool();
+            blackhole.consume(model);
+        }
+    }
+}
@@ -22,7 +22,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.GeneralSecurityException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
@@ -40,8 +43,15 @@ import gyro.core.auth.Credentials;
 
 public class GoogleCredentials extends Credentials {
 
+    private static final List<String> SERVICE_PACKAGE_PREFIXES = Arrays.asList(
+        "com.google.api.services.",
+        "com.google.cloud.",
+        "com.google.devtools.",
+        "com.google.");
+
     private String projectId;
     private String credentialFilePath;
+    private Map<String, String> endpoints;
 
     public String getProjectId() {
         return projectId;
@@ -59,6 +69,14 @@ public class GoogleCredentials extends Credentials {
         this.credentialFilePath = credentialFilePath;
     }
 
+    public Map<String, String> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
     public <T> T createClient(Class<T> clientClass) {
         if (AbstractGoogleJsonClient.class.isAssignableFrom(clientClass)) {
             return Optional.of(createClientBuilder((Class<? extends AbstractGoogleJsonClient>) clientClass))
@@ -90,7 +108,11 @@ public class GoogleCredentials extends Credentials {
                         "setApplicationName",
                         String.class);
                     setApplicationNameMethod.invoke(builder, "gyro-google-provider");
-                    return AbstractGoogleJsonClient.Builder.class.cast(builder);
+
+                    AbstractGoogleJsonClient.Builder clientBuilder = AbstractGoogleJsonClient.Builder.class.cast(builder);
+                    getEndpoint(clientClass).ifPresent(clientBuilder::setRootUrl);
+
+                    return clientBuilder;
                 }
             }
         } catch (GeneralSecurityException
@@ -117,6 +139,7 @@ public class GoogleCredentials extends Credentials {
         try {
             Class<E> settingsClass = (Class<E>) clientClass.getDeclaredField("settings").getType();
             E.Builder newBuilder = (E.Builder) settingsClass.getDeclaredMethod("newBuilder").invoke(null);
+            getEndpoint(clientClass).ifPresent(newBuilder::setEndpoint);
             return (T) clientClass.getDeclaredMethod("create", settingsClass).invoke(null, newBuilder
                 .setCredentialsProvider(FixedCredentialsProvider.create(getGoogleCredentials())).build());
         } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | IOException | NoSuchFieldException ex) {
@@ -124,6 +147,32 @@ public class GoogleCredentials extends Credentials {
         }
     }
 
+    /**
+     * The endpoint override for the service, or {@code null} to use the default endpoint.
+     */
+    public String getEndpoint(String service) {
+        return getEndpoints() != null ? getEndpoints().get(service) : null;
+    }
+
+    /**
+     * Look up an endpoint override for the service the client belongs to. The service is the package segment that
+     * follows the client library prefix, e.g. ``compute`` for ``com.google.cloud.compute.v1``, ``sqladmin`` for
+     * ``com.google.api.services.sqladmin`` or ``container`` for ``com.google.container.v1``.
+     */
+    private Optional<String> getEndpoint(Class<?> clientClass) {
+        if (getEndpoints() == null || getEndpoints().isEmpty()) {
+            return Optional.empty();
+        }
+
+        String packageName = clientClass.getPackage().getName();
+
+        return SERVICE_PACKAGE_PREFIXES.stream()
+            .filter(packageName::startsWith)
+            .findFirst()
+            .map(prefix -> packageName.substring(prefix.length()).split("\\.")[0])
+            .map(this::getEndpoint);
+    }
+
     @Override
     public void refresh() {
         getGoogleCredentials();
@@ -16,11 +16,13 @@
 
 package gyro.google;
 
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.psddev.dari.util.TypeDefinition;
@@ -33,12 +35,28 @@ public abstract class GoogleFinder<C, M, R extends GoogleResource> extends Finde
 
     protected abstract List<M> findGoogle(C client, Map<String, String> filters) throws Exception;
 
+    /**
+     * Override to stream models as they are fetched instead of collecting all of them into a list first.
+     */
+    protected Stream<M> streamAllGoogle(C client) throws Exception {
+        return findAllGoogle(client).stream();
+    }
+
+    /**
+     * Override to stream models as they are fetched instead of collecting all of them into a list first.
+     */
+    protected Stream<M> streamGoogle(C client, Map<String, String> filters) throws Exception {
+        return findGoogle(client, filters).stream();
+    }
+
     @Override
     public List<R> findAll() {
         try {
-            return findAllGoogle(newClient()).stream()
-                .map(this::newResource)
-                .collect(Collectors.toList());
+            try (Stream<M> models = streamAllGoogle(newClient())) {
+                return models.map(this::newResource).collect(Collectors.toList());
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
         } catch (GyroException ex) {
             throw ex;
         } catch (GoogleJsonResponseException je) {
@@ -51,9 +69,11 @@ public abstract class GoogleFinder<C, M, R extends GoogleResource> extends Finde
     @Override
     public List<R> find(Map<String, Object> filters) {
         try {
-            return findGoogle(newClient(), convertFilters(filters)).stream()
-                .map(this::newResource)
-                .collect(Collectors.toList());
+            try (Stream<M> models = streamGoogle(newClient(), convertFilters(filters))) {
+                return models.map(this::newResource).collect(Collectors.toList());
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
         } catch (GyroException ex) {
             throw ex;
         } catch (GoogleJsonResponseException je) {
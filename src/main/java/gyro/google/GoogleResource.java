@@ -37,6 +37,8 @@ public abstract class GoogleResource extends Resource {
 
     private static final String OAUTH_ERROR = "OAuth2Credentials instance does not support refreshing the access token";
 
+    private GoogleCredentials credentials;
+
     public static <T> T createClient(
         Class<T> clientClass,
         GoogleCredentials credentials) {
@@ -44,11 +46,22 @@ public abstract class GoogleResource extends Resource {
     }
 
     public <T> T createClient(Class<T> clientClass) {
-        return createClient(clientClass, credentials(GoogleCredentials.class));
+        return createClient(clientClass, getCredentials());
     }
 
     protected String getProjectId() {
-        return credentials(GoogleCredentials.class).getProjectId();
+        return getCredentials().getProjectId();
+    }
+
+    /**
+     * Use the credentials instead of the ones in the scope of this resource, e.g. to point it at a fake API in tests.
+     */
+    void setCredentials(GoogleCredentials credentials) {
+        this.credentials = credentials;
+    }
+
+    private GoogleCredentials getCredentials() {
+        return credentials != null ? credentials : credentials(GoogleCredentials.class);
     }
 
     protected abstract boolean doRefresh() throws Exception;
@@ -16,17 +16,34 @@
 
 package gyro.google;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.CopyWriter;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
 import com.google.cloud.storage.StorageOptions;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.Ints;
 import gyro.core.FileBackend;
 import gyro.core.GyroCore;
 import gyro.core.GyroException;
@@ -35,8 +52,16 @@ import gyro.core.Type;
 @Type("storage")
 public class GoogleStorageFileBackend extends FileBackend {
 
+    private static final long COPY_MEGABYTES_PER_CHUNK = 256L;
+
     private String bucket;
     private String prefix;
+    private String cacheDirectory;
+    private Boolean gzip;
+    private Integer chunkSize;
+
+    private transient volatile Storage storage;
+    private final transient Map<String, Long> generations = new ConcurrentHashMap<>();
 
     public String getBucket() {
         return bucket;
@@ -54,10 +79,63 @@ public class GoogleStorageFileBackend extends FileBackend {
         this.prefix = prefix;
     }
 
+    /**
+     * Directory where local copies of state files are kept between runs. Defaults to
+     * ``~/.gyro/cache/google-storage``.
+     */
+    public String getCacheDirectory() {
+        if (cacheDirectory == null) {
+            cacheDirectory = Paths.get(System.getProperty("user.home"), ".gyro", "cache", "google-storage").toString();
+        }
+
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * When ``true``, state files are uploaded gzip compressed with ``Content-Encoding: gzip`` and are transparently
+     * decompressed when read. Defaults to ``false``.
+     */
+    public Boolean getGzip() {
+        if (gzip == null) {
+            gzip = false;
+        }
+
+        return gzip;
+    }
+
+    public void setGzip(Boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * The size in bytes of each chunk of a resumable state file upload. Must be a multiple of 256 KiB. Defaults to the
+     * client library default.
+     */
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
     @Override
     public Stream<String> list() throws Exception {
         if (this.equals(GyroCore.getStateBackend(getName()))) {
-            return StreamSupport.stream(service().list(getBucket()).iterateAll().spliterator(), false)
+            List<Storage.BlobListOption> options = new ArrayList<>();
+            options.add(Storage.BlobListOption.fields(Storage.BlobField.NAME));
+
+            if (getPrefix() != null) {
+                options.add(Storage.BlobListOption.prefix(getPrefix() + '/'));
+            }
+
+            return StreamSupport.stream(
+                service().list(getBucket(), options.toArray(new Storage.BlobListOption[0])).iterateAll().spliterator(),
+                false)
                 .map(Blob::getName)
                 .filter(f -> f.endsWith(".gyro"))
                 .map(this::removePrefix);
@@ -68,49 +146,154 @@ public class GoogleStorageFileBackend extends FileBackend {
 
     @Override
     public InputStream openInput(String file) throws Exception {
-        return Channels.newInputStream(service().reader(getBucket(), prefixed(file)));
+        String name = prefixed(file);
+        Blob blob = service().get(getBucket(), name, Storage.BlobGetOption.fields(Storage.BlobField.GENERATION));
+
+        if (blob == null) {
+            return Channels.newInputStream(service().reader(getBucket(), name));
+        }
+
+        generations.put(name, blob.getGeneration());
+
+        GoogleStorageFileCache cache = cache();
+        Path cached = cache.get(getBucket(), name, blob.getGeneration());
+
+        if (cached == null) {
+            Path download = cache.createTempFile(getBucket());
+
+            try {
+                blob.downloadTo(download);
+                cached = cache.put(getBucket(), name, blob.getGeneration(), download);
+
+            } finally {
+                Files.deleteIfExists(download);
+            }
+        }
+
+        return Files.newInputStream(cached);
     }
 
     @Override
     public OutputStream openOutput(String file) throws Exception {
-        return Channels.newOutputStream(service().writer(
-            BlobInfo.newBuilder(getBucket(), prefixed(file)).build(),
-            Storage.BlobWriteOption.predefinedAcl(Storage.PredefinedAcl.PRIVATE)));
+        String name = prefixed(file);
+        Long generation = generations.get(name);
+
+        BlobInfo.Builder blobInfo;
+        List<Storage.BlobWriteOption> options = new ArrayList<>();
+        options.add(Storage.BlobWriteOption.predefinedAcl(Storage.PredefinedAcl.PRIVATE));
+
+        // Only overwrite the generation that was last read or written by this run, and only create files that
+        // didn't exist when this run started writing, so that state written by someone else in the meantime is never
+        // clobbered by a stale copy.
+        if (generation != null) {
+            blobInfo = BlobInfo.newBuilder(BlobId.of(getBucket(), name, generation));
+            options.add(Storage.BlobWriteOption.generationMatch());
+
+        } else {
+            blobInfo = BlobInfo.newBuilder(getBucket(), name);
+            options.add(Storage.BlobWriteOption.doesNotExist());
+        }
+
+        if (getGzip()) {
+            blobInfo.setContentEncoding("gzip");
+        }
+
+        WriteChannel writer = service().writer(blobInfo.build(), options.toArray(new Storage.BlobWriteOption[0]));
+
+        if (getChunkSize() != null) {
+            writer.setChunkSize(getChunkSize());
+        }
+
+        HashingOutputStream checksum = new HashingOutputStream(Hashing.crc32c(), Channels.newOutputStream(writer));
+        OutputStream upload = getGzip() ? new GZIPOutputStream(checksum) : checksum;
+        Path copy = cache().createTempFile(getBucket());
+
+        return new CachingOutputStream(name, upload, checksum, copy);
     }
 
     @Override
     public void delete(String file) throws Exception {
-        service().delete(getBucket(), prefixed(file));
+        String name = prefixed(file);
+
+        service().delete(getBucket(), name);
+        generations.remove(name);
+        cache().evict(getBucket(), name);
     }
 
     @Override
     public boolean exists(String file) throws Exception {
-        return service().get(getBucket(), prefixed(file)) != null;
+        return service().get(
+            getBucket(),
+            prefixed(file),
+            Storage.BlobGetOption.fields(Storage.BlobField.NAME)) != null;
     }
 
     @Override
     public void copy(String source, String destination) throws Exception {
-        String bucket = getBucket();
-        service().copy(Storage.CopyRequest.newBuilder()
-            .setSource(bucket, prefixed(source))
-            .setTarget(
-                BlobInfo.newBuilder(bucket, prefixed(destination)).build(),
+        String sourceName = prefixed(source);
+        String destinationName = prefixed(destination);
 
+        CopyWriter copyWriter = service().copy(Storage.CopyRequest.newBuilder()
+            .setSource(getBucket(), sourceName)
+            .setTarget(
+                BlobInfo.newBuilder(getBucket(), destinationName).build(),
                 Storage.BlobTargetOption.predefinedAcl(Storage.PredefinedAcl.PRIVATE))
-            .build()).getResult();
+            .setMegabytesCopiedPerChunk(COPY_MEGABYTES_PER_CHUNK)
+            .build());
+
+        // getResult() keeps issuing rewrite calls of the chunk size above until large objects are fully copied.
+        generations.put(destinationName, copyWriter.getResult().getGeneration());
+        cache().evict(getBucket(), destinationName);
     }
 
     private Storage service() {
+        Storage service = storage;
+
+        if (service == null) {
+            synchronized (this) {
+                service = storage;
+
+                if (service == null) {
+                    service = createService();
+                    storage = service;
+                }
+            }
+        }
+
+        return service;
+    }
+
+    private Storage createService() {
         return Optional.ofNullable(getCredentials("google"))
             .filter(GoogleCredentials.class::isInstance)
             .map(GoogleCredentials.class::cast)
-            .map(e -> StorageOptions.newBuilder()
-                .setCredentials(e.getGoogleCredentials())
-                .build()
-                .getService())
+            .map(e -> {
+                StorageOptions.Builder builder = StorageOptions.newBuilder()
+                    .setCredentials(e.getGoogleCredentials());
+
+                if (e.getEndpoint("storage") != null) {
+                    builder.setHost(e.getEndpoint("storage"));
+                }
+
+                return builder.build().getService();
+            })
             .orElseThrow(() -> new GyroException("No storage service available!"));
     }
 
+    private static boolean isPreconditionFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StorageException && ((StorageException) cause).getCode() == 412) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private GoogleStorageFileCache cache() {
+        return new GoogleStorageFileCache(Paths.get(getCacheDirectory()));
+    }
+
     private String prefixed(String file) {
         return getPrefix() != null ? getPrefix() + '/' + file : file;
     }
@@ -122,4 +305,90 @@ public class GoogleStorageFileBackend extends FileBackend {
 
         return file;
     }
+
+    /**
+     * Uploads to the bucket while keeping a local copy, which becomes the cached copy of the new generation once the
+     * upload completes.
+     */
+    private class CachingOutputStream extends OutputStream {
+
+        private final String name;
+        private final OutputStream upload;
+        private final HashingOutputStream checksum;
+        private final Path copy;
+        private final OutputStream copyOutput;
+
+        CachingOutputStream(String name, OutputStream upload, HashingOutputStream checksum, Path copy)
+            throws IOException {
+            this.name = name;
+            this.upload = upload;
+            this.checksum = checksum;
+            this.copy = copy;
+            this.copyOutput = Files.newOutputStream(copy);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            upload.write(b);
+            copyOutput.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            upload.write(b, off, len);
+            copyOutput.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            upload.flush();
+            copyOutput.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                copyOutput.close();
+                upload.close();
+
+                Blob blob = service().get(
+                    getBucket(),
+                    name,
+                    Storage.BlobGetOption.fields(Storage.BlobField.GENERATION, Storage.BlobField.CRC32C));
+
+                if (blob != null) {
+                    String expected = BaseEncoding.base64().encode(Ints.toByteArray(checksum.hash().asInt()));
+
+                    if (!expected.equals(blob.getCrc32c())) {
+                        generations.remove(name);
+                        cache().evict(getBucket(), name);
+
+                        throw new GyroException(String.format(
+                            "Checksum mismatch after uploading state file %s! Expected CRC32C %s but got %s.",
+                            name,
+                            expected,
+                            blob.getCrc32c()));
+                    }
+
+                    generations.put(name, blob.getGeneration());
+                    cache().put(getBucket(), name, blob.getGeneration(), copy);
+                }
+
+            } catch (IOException | StorageException ex) {
+                generations.remove(name);
+                cache().evict(getBucket(), name);
+
+                if (isPreconditionFailure(ex)) {
+                    throw new GyroException(String.format(
+                        "State file %s was created or modified by another process since it was last read!",
+                        name));
+                }
+
+                throw ex;
+
+            } finally {
+                Files.deleteIfExists(copy);
+            }
+        }
+    }
 }
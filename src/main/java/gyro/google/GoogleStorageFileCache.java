@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local copies of state files stored in Google Cloud Storage, keyed by bucket, object name and generation.
+ *
+ * <p>
+ * Each object is kept under ``{directory}/{bucket}/{object}/{generation}``. Only the latest known generation of an
+ * object is retained, so a copy is served only when it matches the generation currently in the bucket.
+ * </p>
+ */
+class GoogleStorageFileCache {
+
+    private final Path directory;
+
+    GoogleStorageFileCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cached copy of the object's generation, or {@code null} if there isn't one.
+     */
+    Path get(String bucket, String name, long generation) {
+        Path file = objectDirectory(bucket, name).resolve(Long.toString(generation));
+
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Creates an empty temporary file, in the same file system as the cache, to download or write an object into.
+     */
+    Path createTempFile(String bucket) throws IOException {
+        Path bucketDirectory = Files.createDirectories(directory.resolve(bucket));
+
+        return Files.createTempFile(bucketDirectory, ".download-", ".tmp");
+    }
+
+    /**
+     * Moves the file into the cache as the given generation of the object, dropping any other cached generation.
+     */
+    Path put(String bucket, String name, long generation, Path source) throws IOException {
+        Path objectDirectory = Files.createDirectories(objectDirectory(bucket, name));
+        Path file = objectDirectory.resolve(Long.toString(generation));
+
+        Files.move(source, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        prune(objectDirectory, file);
+
+        return file;
+    }
+
+    /**
+     * Drops every cached generation of the object.
+     */
+    void evict(String bucket, String name) throws IOException {
+        Path objectDirectory = objectDirectory(bucket, name);
+
+        if (Files.isDirectory(objectDirectory)) {
+            prune(objectDirectory, null);
+        }
+    }
+
+    private Path objectDirectory(String bucket, String name) {
+        return directory.resolve(bucket).resolve(name);
+    }
+
+    private void prune(Path objectDirectory, Path keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(objectDirectory, Files::isRegularFile)) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -36,6 +38,7 @@ import gyro.core.GyroUI;
 import gyro.core.TimeoutSettings;
 import gyro.core.Type;
 import gyro.core.Waiter;
+import gyro.core.resource.DiffableInternals;
 import gyro.core.resource.Id;
 import gyro.core.resource.Output;
 import gyro.core.resource.Resource;
@@ -174,6 +177,7 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
     // Read-only
     private List<String> suspensionReason;
     private String selfLink;
+    private String pendingOperation;
     private String serviceAccountEmailAddress;
     private DbSslCert serverCaCert;
     private String state;
@@ -440,6 +444,19 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
         this.suspensionReason = suspensionReason;
     }
 
+    /**
+     * The name of the operation creating the instance while it's still running, so that an interrupted run can wait
+     * for it instead of creating the instance again.
+     */
+    @Output
+    public String getPendingOperation() {
+        return pendingOperation;
+    }
+
+    public void setPendingOperation(String pendingOperation) {
+        this.pendingOperation = pendingOperation;
+    }
+
     /**
      * The URI for this instance.
      */
@@ -846,6 +863,27 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
 
     @Override
     protected boolean doRefresh() throws Exception {
+        if (getPendingOperation() != null) {
+            try {
+                waitForCompletion(
+                    new Operation().setName(getPendingOperation()),
+                    15,
+                    TimeUnit.MINUTES,
+                    TimeoutSettings.Action.CREATE);
+
+            } catch (GyroException ex) {
+                // The instance is refreshed below whether the operation succeeded or not.
+
+            } catch (GoogleJsonResponseException ex) {
+                // An operation that has expired is no longer found, so the instance is refreshed below as well.
+                if (ex.getStatusCode() != 404) {
+                    throw ex;
+                }
+            }
+
+            setPendingOperation(null);
+        }
+
         SQLAdmin client = createClient(SQLAdmin.class);
         DatabaseInstance instance = client.instances().get(getProjectId(), getName()).execute();
 
@@ -853,6 +891,7 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
             return false;
         }
 
+        SqlOperationTracker.getInstance(getProjectId()).markExisting(getName());
         copyFrom(instance);
 
         return true;
@@ -867,10 +906,47 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
                 "The 'replication-cluster' field is not supported for creating a new instance. It can only be configured in an update call.");
         }
 
+        SqlOperationTracker tracker = SqlOperationTracker.getInstance(getProjectId());
+        tracker.checkFailures();
+
+        // A replica can only be created once its primary is, which may still be in progress if the primary is a
+        // replica itself.
+        if (getMasterInstance() != null && getMasterInstance().getPendingOperation() != null) {
+            CompletableFuture<Operation> primary = tracker.get(getMasterInstance().getPendingOperation());
+
+            if (primary != null) {
+                try {
+                    primary.join();
+
+                } catch (CompletionException ex) {
+                    throw new GyroException(String.format(
+                        "Unable to create %s because its primary %s failed to be created!",
+                        getName(),
+                        getMasterInstance().getName()), ex.getCause());
+                }
+            }
+        }
+
         try {
             Operation execute = client.instances().insert(getProjectId(), getDatabaseInstance()).execute();
-            waitForCompletion(execute,
-                15, TimeUnit.MINUTES, TimeoutSettings.Action.CREATE);
+            setPendingOperation(execute.getName());
+            state.save();
+
+            // Replicas are created concurrently and tracked together in the background until the last one is
+            // submitted. The pending operation of the others stays in the state and is resolved by their next refresh.
+            if (getMasterInstance() != null) {
+                tracker.track(client, getName(), execute.getName());
+
+                if (!isReplicaCreationExpected(tracker)) {
+                    tracker.awaitAll();
+                    setPendingOperation(null);
+                }
+
+            } else {
+                waitForCompletion(execute,
+                    15, TimeUnit.MINUTES, TimeoutSettings.Action.CREATE);
+                setPendingOperation(null);
+            }
         } catch (GoogleJsonResponseException ex) {
             if (ex.getStatusCode() == 409) {
                 throw new GyroException("Ran into error", ex);
@@ -882,11 +958,16 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
 
     @Override
     protected void doUpdate(GyroUI ui, State state, Resource current, Set<String> changedFieldNames) throws Exception {
+        SqlOperationTracker.getInstance(getProjectId()).awaitAll();
+
         SQLAdmin client = createClient(SQLAdmin.class);
 
         DatabaseInstanceResource currentInstance = (DatabaseInstanceResource) current;
-        if (changedFieldNames.contains("settings") && !StringUtils.equals(
-            currentInstance.getSettings().getEdition(), getSettings().getEdition())) {
+        DatabaseInstance currentModel = currentInstance.toDatabaseInstance(new DatabaseInstance());
+        boolean editionChanged = changedFieldNames.contains("settings") && !StringUtils.equals(
+            currentInstance.getSettings().getEdition(), getSettings().getEdition());
+
+        if (editionChanged) {
             Settings newSettings = new Settings();
             newSettings.setEdition(getSettings().getEdition());
             newSettings.setSettingsVersion(getSettings().getSettingsVersion());
@@ -898,10 +979,27 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
             waitForCompletion(client.instances()
                     .patch(getProjectId(), getName(), new DatabaseInstance().setSettings(newSettings)).execute(),
                 15, TimeUnit.MINUTES, TimeoutSettings.Action.UPDATE);
+
+            // The edition and tier are applied now, so the second patch leaves them out.
+            currentModel.getSettings().setEdition(newSettings.getEdition());
+
+            if (newSettings.getTier() != null) {
+                currentModel.getSettings().setTier(newSettings.getTier());
+            }
         }
 
-        waitForCompletion(client.instances().update(getProjectId(), getName(), getDatabaseInstance()).execute(),
-            15, TimeUnit.MINUTES, TimeoutSettings.Action.UPDATE);
+        DatabaseInstance patch = diff(currentModel, toDatabaseInstance(new DatabaseInstance()));
+
+        if (!patch.isEmpty()) {
+            // The edition patch bumped the settings version, so the one from the configuration is stale.
+            if (editionChanged && patch.getSettings() != null) {
+                DatabaseInstance instance = client.instances().get(getProjectId(), getName()).execute();
+                patch.getSettings().setSettingsVersion(instance.getSettings().getSettingsVersion());
+            }
+
+            waitForCompletion(client.instances().patch(getProjectId(), getName(), patch).execute(),
+                15, TimeUnit.MINUTES, TimeoutSettings.Action.UPDATE);
+        }
     }
 
     @Override
@@ -910,11 +1008,25 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
             throw new GyroException("Deletion protection is enabled for this instance.");
         }
 
+        SqlOperationTracker.getInstance(getProjectId()).awaitAll();
+
         SQLAdmin client = createClient(SQLAdmin.class);
         waitForCompletion(client.instances().delete(getProjectId(), getName()).execute(),
             10, TimeUnit.MINUTES, TimeoutSettings.Action.DELETE);
     }
 
+    /**
+     * Whether another configured replica is still to be created in this run.
+     */
+    private boolean isReplicaCreationExpected(SqlOperationTracker tracker) {
+        return DiffableInternals.getScope(this)
+            .getRootScope()
+            .findResourcesByClass(DatabaseInstanceResource.class)
+            .filter(r -> r.getMasterInstance() != null)
+            .map(DatabaseInstanceResource::getName)
+            .anyMatch(tracker::isCreationExpected);
+    }
+
     private DatabaseInstance getDatabaseInstance() throws IOException {
         DatabaseInstance databaseInstance;
         try {
@@ -929,6 +1041,48 @@ public class DatabaseInstanceResource extends GoogleResource implements Copyable
             }
         }
 
+        return toDatabaseInstance(databaseInstance);
+    }
+
+    /**
+     * Only the fields of the desired instance that differ from the current one, comparing the settings field by field
+     * so that unchanged settings are left alone. Lists removed from the settings are sent empty to clear them.
+     */
+    static DatabaseInstance diff(DatabaseInstance current, DatabaseInstance desired) {
+        DatabaseInstance patch = new DatabaseInstance();
+
+        desired.forEach((key, value) -> {
+            if (!"settings".equals(key) && value != null && !value.equals(current.get(key))) {
+                patch.set(key, value);
+            }
+        });
+
+        Settings currentSettings = current.getSettings() != null ? current.getSettings() : new Settings();
+        Settings desiredSettings = desired.getSettings();
+        Settings settings = new Settings();
+
+        if (desiredSettings != null) {
+            desiredSettings.forEach((key, value) -> {
+                if (!"settingsVersion".equals(key) && value != null && !value.equals(currentSettings.get(key))) {
+                    settings.set(key, value);
+                }
+            });
+
+            currentSettings.forEach((key, value) -> {
+                if (value instanceof List && desiredSettings.get(key) == null) {
+                    settings.set(key, new ArrayList<>());
+                }
+            });
+        }
+
+        if (!settings.isEmpty()) {
+            patch.setSettings(settings.setSettingsVersion(desiredSettings.getSettingsVersion()));
+        }
+
+        return patch;
+    }
+
+    private DatabaseInstance toDatabaseInstance(DatabaseInstance databaseInstance) {
         databaseInstance.setName(getName());
         databaseInstance.setSettings(getSettings().toSettings());
         databaseInstance.setBackendType(getBackendType() == null ? null : getBackendType());
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.cloudsql;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.sqladmin.SQLAdmin;
+import com.google.api.services.sqladmin.model.Operation;
+import com.google.api.services.sqladmin.model.OperationsListResponse;
+import gyro.core.GyroCore;
+import gyro.core.GyroException;
+
+/**
+ * Waits for the Cloud SQL operations of a project in the background, polling all of them together with a single
+ * ``operations.list`` call.
+ *
+ * <p>
+ * Operations that dropped out of the listing are looked up one by one. Poll errors that are worth retrying, such as
+ * network errors, rate limits and server errors, are retried on the next poll until the deadline of each operation.
+ * The poller only completes futures. Results and failures are picked up on the calling thread by
+ * {@link #checkFailures()} and {@link #awaitAll()}.
+ * </p>
+ */
+class SqlOperationTracker {
+
+    private static final long POLL_MILLIS = 10_000L;
+
+    private static final long LIST_PAGE_SIZE = 500L;
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Map<String, SqlOperationTracker> PROJECTS = new ConcurrentHashMap<>();
+
+    private final String projectId;
+    private final Map<String, Pending> tracked = new ConcurrentHashMap<>();
+    private final Map<String, Pending> polled = new ConcurrentHashMap<>();
+    private final List<Pending> unreported = new ArrayList<>();
+    private final Set<String> existingInstances = new HashSet<>();
+    private final Set<String> submittedInstances = new HashSet<>();
+    private Thread poller;
+
+    private SqlOperationTracker(String projectId) {
+        this.projectId = projectId;
+    }
+
+    static SqlOperationTracker getInstance(String projectId) {
+        return PROJECTS.computeIfAbsent(projectId, SqlOperationTracker::new);
+    }
+
+    /**
+     * Records that the instance exists, as found by its refresh.
+     */
+    synchronized void markExisting(String instance) {
+        existingInstances.add(instance);
+    }
+
+    /**
+     * Whether the instance neither existed when it was refreshed nor has had its creation submitted yet, which means
+     * that it's still to be created in this run.
+     */
+    synchronized boolean isCreationExpected(String instance) {
+        return !existingInstances.contains(instance) && !submittedInstances.contains(instance);
+    }
+
+    /**
+     * Tracks the operation creating the instance until it's done, completing exceptionally if it fails or takes
+     * longer than 30 minutes.
+     */
+    synchronized CompletableFuture<Operation> track(SQLAdmin client, String instance, String operationName) {
+        submittedInstances.add(instance);
+
+        Pending p = new Pending(String.format("creating replica %s", instance));
+
+        tracked.put(operationName, p);
+        polled.put(operationName, p);
+        unreported.add(p);
+
+        if (poller == null) {
+            poller = new Thread(() -> poll(client), String.format("cloudsql-operations-%s", projectId));
+            poller.start();
+        }
+
+        return p.future;
+    }
+
+    /**
+     * The tracked operation, or {@code null} if it isn't tracked.
+     */
+    CompletableFuture<Operation> get(String operationName) {
+        Pending p = tracked.get(operationName);
+
+        return p != null ? p.future : null;
+    }
+
+    /**
+     * Throws the first failure of a tracked operation that's done but hasn't been reported yet.
+     */
+    void checkFailures() throws Exception {
+        List<Pending> done = new ArrayList<>();
+
+        synchronized (this) {
+            for (Pending p : unreported) {
+                if (p.future.isDone()) {
+                    done.add(p);
+                }
+            }
+
+            unreported.removeAll(done);
+        }
+
+        report(done);
+    }
+
+    /**
+     * Waits for every tracked operation, throwing the first failure and reporting the others.
+     */
+    void awaitAll() throws Exception {
+        List<Pending> all;
+
+        // The lock isn't held while waiting, since the poller needs it.
+        synchronized (this) {
+            all = new ArrayList<>(unreported);
+            unreported.clear();
+        }
+
+        report(all);
+    }
+
+    private void report(List<Pending> pendings) throws Exception {
+        Exception failure = null;
+
+        for (Pending p : pendings) {
+            Exception ex = p.await();
+
+            if (failure == null) {
+                failure = ex;
+
+            } else if (ex != null) {
+                GyroCore.ui().write("\n@|red %s: %s|@", ex.getMessage(), ex.getCause().getMessage());
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void poll(SQLAdmin client) {
+        while (true) {
+            synchronized (this) {
+                if (polled.isEmpty()) {
+                    poller = null;
+                    return;
+                }
+            }
+
+            try {
+                Thread.sleep(POLL_MILLIS);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failAll(ex);
+                continue;
+            }
+
+            Map<String, Operation> listed = new HashMap<>();
+
+            try {
+                OperationsListResponse response = client.operations()
+                    .list(projectId)
+                    .setMaxResults(LIST_PAGE_SIZE)
+                    .execute();
+
+                if (response.getItems() != null) {
+                    response.getItems().forEach(o -> listed.put(o.getName(), o));
+                }
+
+            } catch (Exception ex) {
+                if (!isRetryable(ex)) {
+                    failAll(ex);
+                    continue;
+                }
+            }
+
+            for (Map.Entry<String, Pending> entry : polled.entrySet()) {
+                String name = entry.getKey();
+                Pending p = entry.getValue();
+
+                try {
+                    Operation operation = listed.get(name);
+
+                    if (operation == null) {
+                        operation = client.operations().get(projectId, name).execute();
+                    }
+
+                    if ("DONE".equals(operation.getStatus())) {
+                        polled.remove(name);
+
+                        if (operation.getError() != null && !operation.getError().isEmpty()) {
+                            p.future.completeExceptionally(new GyroException(
+                                DatabaseInstanceResource.formatOperationErrorMessage(operation.getError())));
+
+                        } else {
+                            p.future.complete(operation);
+                        }
+
+                        continue;
+                    }
+
+                } catch (Exception ex) {
+                    if (!isRetryable(ex)) {
+                        polled.remove(name);
+                        p.future.completeExceptionally(ex);
+                        continue;
+                    }
+                }
+
+                if (System.currentTimeMillis() > p.deadline) {
+                    polled.remove(name);
+                    p.future.completeExceptionally(new GyroException(
+                        String.format("Timed out waiting for operation %s!", name)));
+                }
+            }
+        }
+    }
+
+    private void failAll(Exception ex) {
+        polled.keySet().forEach(name -> {
+            Pending p = polled.remove(name);
+
+            if (p != null) {
+                p.future.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private static boolean isRetryable(Exception ex) {
+        if (ex instanceof GoogleJsonResponseException) {
+            int statusCode = ((GoogleJsonResponseException) ex).getStatusCode();
+
+            return statusCode == 429 || statusCode >= 500;
+        }
+
+        return ex instanceof IOException;
+    }
+
+    private static class Pending {
+
+        private final String action;
+        private final CompletableFuture<Operation> future = new CompletableFuture<>();
+        private final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        Pending(String action) {
+            this.action = action;
+        }
+
+        Exception await() {
+            try {
+                future.get();
+                return null;
+
+            } catch (ExecutionException ex) {
+                return new GyroException(String.format("Failed %s!", action), ex.getCause());
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return new GyroException(String.format("Interrupted while %s!", action), ex);
+            }
+        }
+    }
+}
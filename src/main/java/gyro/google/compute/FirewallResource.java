@@ -534,7 +534,7 @@ public class FirewallResource extends ComputeResource implements Copyable<Firewa
         return errors;
     }
 
-    private Firewall toFirewall() {
+    Firewall toFirewall() {
         Firewall.Builder builder = Firewall.newBuilder().setName(getName()).setNetwork(getNetwork().getSelfLink())
             .setDirection(getDirection()).setDisabled(getDisabled())
             .setPriority(getPriority());
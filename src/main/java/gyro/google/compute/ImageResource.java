@@ -35,6 +35,7 @@ import com.google.cloud.compute.v1.InsertImageRequest;
 import com.google.cloud.compute.v1.Operation;
 import com.google.cloud.compute.v1.RawDisk;
 import com.google.cloud.compute.v1.SetLabelsImageRequest;
+import gyro.core.GyroException;
 import gyro.core.GyroUI;
 import gyro.core.Type;
 import gyro.core.resource.Id;
@@ -108,6 +109,7 @@ public class ImageResource extends ComputeResource implements Copyable<Image> {
     private Long diskSizeGb;
     private String labelFingerprint;
     private String selfLink;
+    private String pendingOperation;
     private String sourceDiskId;
     private String sourceImageId;
     private String sourceSnapshotId;
@@ -320,6 +322,19 @@ public class ImageResource extends ComputeResource implements Copyable<Image> {
         this.labelFingerprint = labelFingerprint;
     }
 
+    /**
+     * The name of the operation creating the image while it's still running, so that an interrupted run can wait for
+     * it instead of creating the image again.
+     */
+    @Output
+    public String getPendingOperation() {
+        return pendingOperation;
+    }
+
+    public void setPendingOperation(String pendingOperation) {
+        this.pendingOperation = pendingOperation;
+    }
+
     /**
      * The fully-qualified URL linking back to the image.
      */
@@ -418,6 +433,17 @@ public class ImageResource extends ComputeResource implements Copyable<Image> {
 
     @Override
     protected boolean doRefresh() throws Exception {
+        if (getPendingOperation() != null) {
+            try {
+                waitForCompletion(Operation.newBuilder().setName(getPendingOperation()).build(), 3, TimeUnit.MINUTES);
+
+            } catch (GyroException | NotFoundException ex) {
+                // The image is refreshed below whether the operation succeeded, failed or expired.
+            }
+
+            setPendingOperation(null);
+        }
+
         try (ImagesClient client = createClient(ImagesClient.class)) {
             Image image = getImage(client);
 
@@ -495,8 +521,12 @@ public class ImageResource extends ComputeResource implements Copyable<Image> {
                 .setImageResource(builder)
                 .build());
 
+            setPendingOperation(operation.getName());
+            state.save();
+
             // Images are slow to complete so wait max of 3 minutes for completion
             waitForCompletion(operation, 3, TimeUnit.MINUTES);
+            setPendingOperation(null);
         }
 
         refresh();
@@ -443,7 +443,7 @@ public class SecurityPolicyResource extends ComputeResource implements Copyable<
         }
     }
 
-    private SecurityPolicy toSecurityPolicy() {
+    SecurityPolicy toSecurityPolicy() {
         SecurityPolicy.Builder builder = SecurityPolicy.newBuilder();
         builder.setName(getName()).setType(getSecurityPolicyType());
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.api.services.dns.Dns;
+import com.google.api.services.dns.model.Change;
+import com.google.api.services.dns.model.ResourceRecordSet;
+import gyro.core.GyroException;
+
+/**
+ * Applies record set changes to a managed zone and waits for them to be done, polling quickly at first and backing off
+ * for changes that take longer to propagate.
+ */
+final class DnsChanges {
+
+    private static final long INITIAL_POLL_MILLIS = 500L;
+
+    private static final long MAX_POLL_MILLIS = 10_000L;
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private DnsChanges() {
+    }
+
+    /**
+     * Applies the deletions and additions as one atomic change and waits for it to be done.
+     */
+    static void apply(
+        Dns client,
+        String projectId,
+        String managedZone,
+        List<ResourceRecordSet> deletions,
+        List<ResourceRecordSet> additions) throws Exception {
+
+        Change change = new Change();
+
+        if (!deletions.isEmpty()) {
+            change.setDeletions(deletions);
+        }
+
+        if (!additions.isEmpty()) {
+            change.setAdditions(additions);
+        }
+
+        change = client.changes().create(projectId, managedZone, change).execute();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        long poll = INITIAL_POLL_MILLIS;
+
+        while (!"done".equals(change.getStatus())) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new GyroException(String.format(
+                    "Timed out waiting for change %s of managed zone %s to complete", change.getId(), managedZone));
+            }
+
+            Thread.sleep(poll);
+            poll = Math.min(poll * 2, MAX_POLL_MILLIS);
+            change = client.changes().get(projectId, managedZone, change.getId()).execute();
+        }
+    }
+}
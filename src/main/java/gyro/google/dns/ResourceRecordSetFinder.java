@@ -23,7 +23,6 @@ import java.util.Map;
 
 import com.google.api.services.dns.Dns;
 import com.google.api.services.dns.model.ResourceRecordSet;
-import com.google.api.services.dns.model.ResourceRecordSetsListResponse;
 import gyro.core.Type;
 import gyro.google.GoogleFinder;
 
@@ -61,16 +60,6 @@ public class ResourceRecordSetFinder extends GoogleFinder<Dns, ResourceRecordSet
 
     @Override
     protected List<ResourceRecordSet> findGoogle(Dns client, Map<String, String> filters) throws Exception {
-        List<ResourceRecordSet> allRecordSets = new ArrayList<>();
-        Dns.ResourceRecordSets.List request = client.resourceRecordSets().list(getProjectId(), filters.get("name"));
-        String nextPageToken = null;
-
-        do {
-            ResourceRecordSetsListResponse response = request.execute();
-            allRecordSets.addAll(response.getRrsets());
-            nextPageToken = response.getNextPageToken();
-            request.setPageToken(nextPageToken);
-        } while (nextPageToken != null);
-        return allRecordSets;
+        return new ArrayList<>(ResourceRecordSetIndex.list(client, getProjectId(), filters.get("name")));
     }
 }
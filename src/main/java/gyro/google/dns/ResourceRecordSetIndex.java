@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.api.services.dns.Dns;
+import com.google.api.services.dns.model.ResourceRecordSet;
+import com.google.api.services.dns.model.ResourceRecordSetsListResponse;
+import gyro.core.GyroException;
+import gyro.google.util.PagedIterator;
+import gyro.google.util.RefreshCache;
+
+/**
+ * Record sets of a managed zone keyed by name and type, listed once and shared by every record set refreshed in the
+ * same run.
+ *
+ * <p>
+ * The first few lookups in a zone go straight to a filtered ``resourceRecordSets.list`` and the index is only built
+ * once enough record sets of the same zone are being refreshed to make a full listing cheaper. Record sets changed by
+ * this run are dropped from the index and looked up directly afterwards.
+ * </p>
+ */
+final class ResourceRecordSetIndex {
+
+    private static final long MAX_RESULTS = 1000L;
+
+    private static final int INDEX_LOOKUP_THRESHOLD = 5;
+
+    private final Map<String, ResourceRecordSet> recordSets = new ConcurrentHashMap<>();
+    private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+    private ResourceRecordSetIndex() {
+    }
+
+    /**
+     * Find the record set with the name and type, or {@code null} if it doesn't exist.
+     */
+    static ResourceRecordSet find(Dns client, String projectId, String managedZone, String name, String type)
+        throws Exception {
+
+        String key = key(name, type);
+        ResourceRecordSetIndex index = RefreshCache.peek(indexKey(projectId, managedZone));
+
+        if (index == null && RefreshCache.get(indexKey(projectId, managedZone) + "/lookups", AtomicInteger::new)
+            .incrementAndGet() >= INDEX_LOOKUP_THRESHOLD) {
+            index = get(client, projectId, managedZone);
+        }
+
+        if (index != null && !index.stale.contains(key)) {
+            return index.recordSets.get(key);
+        }
+
+        Dns.ResourceRecordSets.List request = client.resourceRecordSets().list(projectId, managedZone);
+        request.setName(name);
+        request.setType(type);
+        List<ResourceRecordSet> rrsets = request.execute().getRrsets();
+
+        if (rrsets == null || rrsets.isEmpty()) {
+            return null;
+
+        } else if (rrsets.size() > 1) {
+            throw new GyroException(
+                String.format("Multiple records found! [%s] [%s] [%s]", managedZone, name, type));
+        }
+
+        return rrsets.get(0);
+    }
+
+    /**
+     * Every record set of the managed zone, listing the zone if it isn't indexed yet.
+     */
+    static Collection<ResourceRecordSet> list(Dns client, String projectId, String managedZone) throws Exception {
+        ResourceRecordSetIndex index = get(client, projectId, managedZone);
+
+        if (index.stale.isEmpty()) {
+            return new ArrayList<>(index.recordSets.values());
+        }
+
+        RefreshCache.invalidate(indexKey(projectId, managedZone));
+
+        return new ArrayList<>(get(client, projectId, managedZone).recordSets.values());
+    }
+
+    /**
+     * Mark the record sets as changed so that later lookups go back to the API.
+     */
+    static void markChanged(String projectId, String managedZone, Collection<ResourceRecordSet> changed) {
+        ResourceRecordSetIndex index = RefreshCache.peek(indexKey(projectId, managedZone));
+
+        if (index != null) {
+            for (ResourceRecordSet recordSet : changed) {
+                String key = key(recordSet.getName(), recordSet.getType());
+                index.stale.add(key);
+                index.recordSets.remove(key);
+            }
+        }
+    }
+
+    private static ResourceRecordSetIndex get(Dns client, String projectId, String managedZone) throws Exception {
+        return RefreshCache.get(indexKey(projectId, managedZone), () -> {
+            ResourceRecordSetIndex index = new ResourceRecordSetIndex();
+
+            try {
+                PagedIterator.stream(
+                    token -> client.resourceRecordSets()
+                        .list(projectId, managedZone)
+                        .setMaxResults(MAX_RESULTS)
+                        .setPageToken(token)
+                        .execute(),
+                    ResourceRecordSetsListResponse::getNextPageToken,
+                    ResourceRecordSetsListResponse::getRrsets)
+                    .forEach(r -> index.recordSets.put(key(r.getName(), r.getType()), r));
+
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            return index;
+        });
+    }
+
+    private static String indexKey(String projectId, String managedZone) {
+        return String.format("dns/record-sets/%s/%s", projectId, managedZone);
+    }
+
+    private static String key(String name, String type) {
+        return name + ' ' + type;
+    }
+}
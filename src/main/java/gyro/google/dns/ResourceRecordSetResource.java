@@ -20,16 +20,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 import com.google.api.services.dns.Dns;
-import com.google.api.services.dns.model.Change;
 import com.google.api.services.dns.model.ResourceRecordSet;
-import com.google.api.services.dns.model.ResourceRecordSetsListResponse;
-import gyro.core.GyroException;
 import gyro.core.GyroUI;
 import gyro.core.Type;
-import gyro.core.Wait;
 import gyro.core.resource.Resource;
 import gyro.core.resource.Updatable;
 import gyro.core.scope.State;
@@ -154,30 +149,25 @@ public class ResourceRecordSetResource extends GoogleResource implements Copyabl
 
     @Override
     public boolean doRefresh() throws Exception {
-        Dns client = createClient(Dns.class);
-        String managedZoneName = getManagedZone().getName();
-        Dns.ResourceRecordSets.List request = client.resourceRecordSets().list(getProjectId(), managedZoneName);
-        request.setName(getName());
-        request.setType(getType());
-        ResourceRecordSetsListResponse response = request.execute();
-        List<ResourceRecordSet> rrsets = response.getRrsets();
-
-        if (rrsets.isEmpty()) {
+        ResourceRecordSet recordSet = ResourceRecordSetIndex.find(
+            createClient(Dns.class),
+            getProjectId(),
+            getManagedZone().getName(),
+            getName(),
+            getType());
+
+        if (recordSet == null) {
             return false;
-        } else if (rrsets.size() > 1) {
-            throw new GyroException(
-                String.format("Multiple records found! [%s] [%s] [%s]", managedZoneName, getName(), getType()));
         }
-        copyFrom(rrsets.get(0));
+
+        copyFrom(recordSet);
 
         return true;
     }
 
     @Override
     public void doCreate(GyroUI ui, State state) throws Exception {
-        Change change = new Change();
-        change.setAdditions(Collections.singletonList(toResourceRecordSet()));
-        process(change);
+        process(Collections.emptyList(), Collections.singletonList(toResourceRecordSet()));
 
         refresh();
     }
@@ -186,19 +176,16 @@ public class ResourceRecordSetResource extends GoogleResource implements Copyabl
     public void doUpdate(
         GyroUI ui, State state, Resource current, Set<String> changedFieldNames) throws Exception {
 
-        Change change = new Change();
-        change.setDeletions(Collections.singletonList(((ResourceRecordSetResource) current).toResourceRecordSet()));
-        change.setAdditions(Collections.singletonList(toResourceRecordSet()));
-        process(change);
+        process(
+            Collections.singletonList(((ResourceRecordSetResource) current).toResourceRecordSet()),
+            Collections.singletonList(toResourceRecordSet()));
 
         refresh();
     }
 
     @Override
     public void doDelete(GyroUI ui, State state) throws Exception {
-        Change change = new Change();
-        change.setDeletions(Collections.singletonList(toResourceRecordSet()));
-        process(change);
+        process(Collections.singletonList(toResourceRecordSet()), Collections.emptyList());
     }
 
     @Override
@@ -236,23 +223,13 @@ public class ResourceRecordSetResource extends GoogleResource implements Copyabl
         return resourceRecordSet;
     }
 
-    private void process(Change change) throws Exception {
-        Dns client = createClient(Dns.class);
-        Change operation = client.changes().create(getProjectId(), getManagedZone().getName(), change).execute();
-
-        boolean success = Wait.atMost(1, TimeUnit.MINUTES)
-            .checkEvery(20, TimeUnit.SECONDS)
-            .prompt(false)
-            .until(() -> isChangeDone(client, operation));
+    private void process(List<ResourceRecordSet> deletions, List<ResourceRecordSet> additions) throws Exception {
+        try {
+            DnsChanges.apply(createClient(Dns.class), getProjectId(), getManagedZone().getName(), deletions, additions);
 
-        if (!success) {
-            throw new InterruptedException("Timed out waiting for operation to complete");
+        } finally {
+            ResourceRecordSetIndex.markChanged(getProjectId(), getManagedZone().getName(), deletions);
+            ResourceRecordSetIndex.markChanged(getProjectId(), getManagedZone().getName(), additions);
         }
     }
-
-    private boolean isChangeDone(Dns client, Change operation) throws Exception {
-        Change change = client.changes().get(getProjectId(), getManagedZone().getName(), operation.getId()).execute();
-
-        return change.getStatus().equals("done");
-    }
 }
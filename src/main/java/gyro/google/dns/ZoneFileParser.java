@@ -0,0 +1,351 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.api.services.dns.model.ResourceRecordSet;
+import gyro.core.GyroException;
+
+/**
+ * Reads an RFC 1035 master file one line at a time into record sets keyed by lower case name and type.
+ *
+ * <p>
+ * Supports ``$ORIGIN`` and ``$TTL``, parentheses spanning lines, comments, omitted owners, classes and TTLs, and
+ * BIND style TTL units such as ``1h30m``. Names relative to the origin are made absolute, both as owners and inside
+ * the rdata of the types that carry domain names. Records of the same set with different TTLs use the lowest one.
+ * </p>
+ */
+final class ZoneFileParser {
+
+    private static final int DEFAULT_TTL = 300;
+
+    private static final Pattern TTL_PATTERN = Pattern.compile("(?:\\d+[smhdw]?)+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern TTL_PART_PATTERN = Pattern.compile("(\\d+)([smhdw]?)", Pattern.CASE_INSENSITIVE);
+
+    private final String file;
+    private final Map<String, ResourceRecordSet> recordSets = new TreeMap<>();
+
+    private String origin;
+    private Integer defaultTtl;
+    private Integer lastTtl;
+    private String lastOwner;
+    private int lineNumber;
+
+    private ZoneFileParser(String file, String origin) {
+        this.file = file;
+        this.origin = absolute(origin);
+    }
+
+    /**
+     * Parse the zone file read from the input using the origin for relative names until a ``$ORIGIN`` directive
+     * changes it. The file name is only used in error messages.
+     */
+    static Map<String, ResourceRecordSet> parse(String file, InputStream input, String origin) {
+        ZoneFileParser parser = new ZoneFileParser(file, origin);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            parser.read(reader);
+
+        } catch (IOException ex) {
+            throw new GyroException(String.format("Unable to read zone file %s!", file), ex);
+        }
+
+        return parser.recordSets;
+    }
+
+    static String key(String name, String type) {
+        return name.toLowerCase(Locale.ENGLISH) + ' ' + type.toUpperCase(Locale.ENGLISH);
+    }
+
+    private void read(BufferedReader reader) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        boolean inheritOwner = false;
+        int depth = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (depth == 0) {
+                tokens.clear();
+                inheritOwner = !line.isEmpty() && Character.isWhitespace(line.charAt(0));
+            }
+
+            depth = tokenize(line, tokens, depth);
+
+            if (depth == 0 && !tokens.isEmpty()) {
+                record(tokens, inheritOwner);
+            }
+        }
+
+        if (depth != 0) {
+            throw error("Unbalanced parentheses");
+        }
+    }
+
+    private int tokenize(String line, List<String> tokens, int depth) {
+        StringBuilder token = null;
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                token.append(c);
+
+                if (c == '\\' && i + 1 < line.length()) {
+                    token.append(line.charAt(++i));
+
+                } else if (c == '"') {
+                    quoted = false;
+                }
+
+            } else if (c == ';') {
+                break;
+
+            } else if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+                if (token != null) {
+                    tokens.add(token.toString());
+                    token = null;
+                }
+
+                if (c == '(') {
+                    depth++;
+
+                } else if (c == ')' && --depth < 0) {
+                    throw error("Unbalanced parentheses");
+                }
+
+            } else {
+                if (token == null) {
+                    token = new StringBuilder();
+                }
+
+                token.append(c);
+
+                if (c == '"') {
+                    quoted = true;
+
+                } else if (c == '\\' && i + 1 < line.length()) {
+                    token.append(line.charAt(++i));
+                }
+            }
+        }
+
+        if (quoted) {
+            throw error("Unterminated quoted string");
+        }
+
+        if (token != null) {
+            tokens.add(token.toString());
+        }
+
+        return depth;
+    }
+
+    private void record(List<String> tokens, boolean inheritOwner) {
+        String first = tokens.get(0);
+
+        if (!inheritOwner && first.startsWith("$")) {
+            directive(first.toUpperCase(Locale.ENGLISH), tokens);
+            return;
+        }
+
+        int i = 0;
+        String owner;
+
+        if (inheritOwner) {
+            if (lastOwner == null) {
+                throw error("Record without an owner name");
+            }
+
+            owner = lastOwner;
+
+        } else {
+            owner = name(tokens.get(i++));
+        }
+
+        Integer ttl = null;
+        String type = null;
+
+        while (type == null && i < tokens.size()) {
+            String token = tokens.get(i++);
+
+            if (ttl == null && TTL_PATTERN.matcher(token).matches()) {
+                ttl = ttl(token);
+
+            } else if (!"IN".equalsIgnoreCase(token)) {
+                type = token.toUpperCase(Locale.ENGLISH);
+            }
+        }
+
+        if (type == null) {
+            throw error("Record without a type");
+        }
+
+        if (i == tokens.size()) {
+            throw error(String.format("%s record without data", type));
+        }
+
+        if (ttl == null) {
+            ttl = defaultTtl != null ? defaultTtl : lastTtl != null ? lastTtl : DEFAULT_TTL;
+        }
+
+        List<String> rdata = new ArrayList<>(tokens.subList(i, tokens.size()));
+        absoluteRdata(type, rdata);
+
+        lastOwner = owner;
+        lastTtl = ttl;
+
+        int recordTtl = ttl;
+        ResourceRecordSet recordSet = recordSets.computeIfAbsent(key(owner, type), k -> new ResourceRecordSet()
+            .setName(owner)
+            .setType(type)
+            .setTtl(recordTtl)
+            .setRrdatas(new ArrayList<>()));
+
+        recordSet.setTtl(Math.min(recordSet.getTtl(), ttl));
+        recordSet.getRrdatas().add(String.join(" ", rdata));
+    }
+
+    private void directive(String directive, List<String> tokens) {
+        if (tokens.size() < 2) {
+            throw error(String.format("%s without a value", directive));
+        }
+
+        switch (directive) {
+            case "$ORIGIN":
+                origin = name(tokens.get(1));
+                break;
+
+            case "$TTL":
+                if (!TTL_PATTERN.matcher(tokens.get(1)).matches()) {
+                    throw error(String.format("Invalid TTL %s", tokens.get(1)));
+                }
+
+                defaultTtl = ttl(tokens.get(1));
+                break;
+
+            default:
+                throw error(String.format("Unsupported directive %s", directive));
+        }
+    }
+
+    /**
+     * Makes the domain names in the rdata of CNAME, DNAME, MX, NS, PTR and SRV records absolute.
+     */
+    private void absoluteRdata(String type, List<String> rdata) {
+        int index;
+
+        switch (type) {
+            case "CNAME":
+            case "DNAME":
+            case "NS":
+            case "PTR":
+                index = 0;
+                break;
+
+            case "MX":
+                index = 1;
+                break;
+
+            case "SRV":
+                index = 3;
+                break;
+
+            default:
+                return;
+        }
+
+        if (index < rdata.size()) {
+            rdata.set(index, name(rdata.get(index)));
+        }
+    }
+
+    private String name(String name) {
+        if ("@".equals(name)) {
+            return origin;
+
+        } else if (name.endsWith(".")) {
+            return name;
+
+        } else if (".".equals(origin)) {
+            return name + '.';
+
+        } else {
+            return name + '.' + origin;
+        }
+    }
+
+    private int ttl(String value) {
+        Matcher matcher = TTL_PART_PATTERN.matcher(value);
+        long ttl = 0;
+
+        try {
+            while (matcher.find()) {
+                long amount = Long.parseLong(matcher.group(1));
+
+                switch (matcher.group(2).toLowerCase(Locale.ENGLISH)) {
+                    case "w":
+                        amount = Math.multiplyExact(amount, 7);
+                        // fall through
+                    case "d":
+                        amount = Math.multiplyExact(amount, 24);
+                        // fall through
+                    case "h":
+                        amount = Math.multiplyExact(amount, 60);
+                        // fall through
+                    case "m":
+                        amount = Math.multiplyExact(amount, 60);
+                        // fall through
+                    default:
+                        ttl = Math.addExact(ttl, amount);
+                }
+            }
+
+        } catch (ArithmeticException | NumberFormatException ex) {
+            ttl = Long.MAX_VALUE;
+        }
+
+        if (ttl > Integer.MAX_VALUE) {
+            throw error(String.format("TTL %s is too large", value));
+        }
+
+        return (int) ttl;
+    }
+
+    private GyroException error(String message) {
+        return new GyroException(String.format("%s at %s:%d!", message, file, lineNumber));
+    }
+
+    private static String absolute(String name) {
+        return name.endsWith(".") ? name : name + '.';
+    }
+}
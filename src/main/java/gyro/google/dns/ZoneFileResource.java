@@ -0,0 +1,366 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.api.services.dns.Dns;
+import com.google.api.services.dns.model.ResourceRecordSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import gyro.core.GyroException;
+import gyro.core.GyroUI;
+import gyro.core.Type;
+import gyro.core.resource.Output;
+import gyro.core.resource.Resource;
+import gyro.core.resource.Updatable;
+import gyro.core.scope.State;
+import gyro.core.validation.Required;
+import gyro.core.validation.ValidationError;
+import gyro.google.GoogleResource;
+
+/**
+ * Manages the record sets of a managed zone from an RFC 1035 zone file.
+ *
+ * The zone file is compared with a single listing of the zone, and the record sets that differ are applied in as few
+ * changes as Cloud DNS allows, so zones with thousands of records don't need a resource per record set. The SOA
+ * record and the NS record of the zone apex are managed by Cloud DNS and are ignored on both sides.
+ *
+ * Example
+ * -------
+ *
+ * .. code-block:: gyro
+ *
+ *     google::dns-managed-zone public-managed-zone-example
+ *         name: "public-managed-zone-example"
+ *         description: "Public Managed Zone Example"
+ *         dns-name: "p.example.com."
+ *     end
+ *
+ *     google::dns-zone-file public-managed-zone-file-example
+ *         managed-zone: $(google::dns-managed-zone public-managed-zone-example)
+ *         file: "dns/zones/p.example.com.zone"
+ *     end
+ */
+@Type("dns-zone-file")
+public class ZoneFileResource extends GoogleResource {
+
+    private static final int MAX_RECORDS_PER_CHANGE = 1000;
+
+    private ManagedZoneResource managedZone;
+    private String file;
+    private Boolean deleteRemoved;
+    private String checksum;
+    private Integer recordSetCount;
+
+    private Map<String, ResourceRecordSet> localRecordSets;
+
+    /**
+     * The managed zone to manage the record sets of.
+     */
+    @Required
+    public ManagedZoneResource getManagedZone() {
+        return managedZone;
+    }
+
+    public void setManagedZone(ManagedZoneResource managedZone) {
+        this.managedZone = managedZone;
+    }
+
+    /**
+     * The zone file, relative to the root of the Gyro project. Relative names are relative to the ``dns-name`` of
+     * the managed zone unless the file sets ``$ORIGIN``.
+     */
+    @Required
+    @Updatable
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    /**
+     * When ``true``, record sets in the managed zone that aren't in the zone file are deleted, including the ones
+     * managed by ``google::dns-resource-record-set``, so only enable it when the zone file owns the whole zone.
+     * Defaults to ``false``. Deleting this resource only ever deletes the record sets in the zone file.
+     */
+    @Updatable
+    public Boolean getDeleteRemoved() {
+        if (deleteRemoved == null) {
+            deleteRemoved = false;
+        }
+
+        return deleteRemoved;
+    }
+
+    public void setDeleteRemoved(Boolean deleteRemoved) {
+        this.deleteRemoved = deleteRemoved;
+    }
+
+    /**
+     * SHA-256 over the name, type, TTL and sorted rrdatas of the record sets this resource manages. Read from the
+     * zone file in the configuration and from the zone listing in the state, so an edit to either one shows up as an
+     * update. Don't set it in the configuration.
+     */
+    @Updatable
+    public String getChecksum() {
+        if (checksum == null && getFile() != null && getManagedZone() != null) {
+            checksum = checksum(localRecordSets());
+        }
+
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    /**
+     * The number of record sets in the managed zone, excluding the ones managed by Cloud DNS.
+     */
+    @Output
+    public Integer getRecordSetCount() {
+        return recordSetCount;
+    }
+
+    public void setRecordSetCount(Integer recordSetCount) {
+        this.recordSetCount = recordSetCount;
+    }
+
+    @Override
+    protected boolean doRefresh() throws Exception {
+        Map<String, ResourceRecordSet> remote = remoteRecordSets(createClient(Dns.class));
+        setRecordSetCount(remote.size());
+
+        // With delete-removed off, the zone file only manages its own record sets, so the rest of the zone is left
+        // out of the checksum.
+        if (!getDeleteRemoved() && getFile() != null) {
+            remote.keySet().retainAll(localRecordSets().keySet());
+        }
+
+        setChecksum(checksum(remote));
+
+        return true;
+    }
+
+    @Override
+    protected void doCreate(GyroUI ui, State state) throws Exception {
+        sync(ui);
+    }
+
+    @Override
+    protected void doUpdate(GyroUI ui, State state, Resource current, Set<String> changedFieldNames)
+        throws Exception {
+        sync(ui);
+    }
+
+    @Override
+    protected void doDelete(GyroUI ui, State state) throws Exception {
+        Dns client = createClient(Dns.class);
+        Map<String, ResourceRecordSet> remote = remoteRecordSets(client);
+
+        // delete-removed only affects syncing, so record sets that the zone file doesn't declare are never deleted.
+        remote.keySet().retainAll(localRecordSets().keySet());
+        apply(client, new ArrayList<>(remote.values()), new ArrayList<>());
+    }
+
+    @Override
+    public List<ValidationError> validate(Set<String> configuredFields) {
+        List<ValidationError> errors = new ArrayList<>();
+
+        if (getFile() != null) {
+            try (InputStream input = openInput(getFile())) {
+                // Only checking that the file can be read.
+
+            } catch (Exception ex) {
+                errors.add(new ValidationError(
+                    this,
+                    "file",
+                    String.format("'%s' can't be read.", getFile())));
+            }
+        }
+
+        return errors;
+    }
+
+    private void sync(GyroUI ui) throws Exception {
+        Dns client = createClient(Dns.class);
+        Map<String, ResourceRecordSet> local = localRecordSets();
+        Map<String, ResourceRecordSet> remote = remoteRecordSets(client);
+        List<ResourceRecordSet> deletions = new ArrayList<>();
+        List<ResourceRecordSet> additions = new ArrayList<>();
+
+        // A changed record set is replaced by deleting and adding it in the same change, so both lists are kept
+        // aligned by key until they're chunked.
+        for (Map.Entry<String, ResourceRecordSet> entry : local.entrySet()) {
+            ResourceRecordSet current = remote.get(entry.getKey());
+
+            if (current == null) {
+                deletions.add(null);
+                additions.add(entry.getValue());
+
+            } else if (!canonical(current).equals(canonical(entry.getValue()))) {
+                deletions.add(current);
+                additions.add(entry.getValue());
+            }
+        }
+
+        if (getDeleteRemoved()) {
+            remote.forEach((key, recordSet) -> {
+                if (!local.containsKey(key)) {
+                    deletions.add(recordSet);
+                    additions.add(null);
+                }
+            });
+        }
+
+        ui.write(
+            "\n@|bold,blue Adding %d and deleting %d record sets|@",
+            additions.stream().filter(Objects::nonNull).count(),
+            deletions.stream().filter(Objects::nonNull).count());
+
+        apply(client, deletions, additions);
+
+        setChecksum(checksum(local));
+        remote.keySet().removeAll(local.keySet());
+        setRecordSetCount(local.size() + (getDeleteRemoved() ? 0 : remote.size()));
+    }
+
+    /**
+     * Applies the deletions and additions in changes of at most {@value #MAX_RECORDS_PER_CHANGE} of each, keeping the
+     * deletion and addition at the same index in the same change. Either may be {@code null}.
+     */
+    private void apply(Dns client, List<ResourceRecordSet> deletions, List<ResourceRecordSet> additions)
+        throws Exception {
+
+        String managedZone = getManagedZone().getName();
+        List<ResourceRecordSet> chunkDeletions = new ArrayList<>();
+        List<ResourceRecordSet> chunkAdditions = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < Math.max(deletions.size(), additions.size()); i++) {
+                ResourceRecordSet deletion = i < deletions.size() ? deletions.get(i) : null;
+                ResourceRecordSet addition = i < additions.size() ? additions.get(i) : null;
+
+                if (chunkDeletions.size() == MAX_RECORDS_PER_CHANGE
+                    || chunkAdditions.size() == MAX_RECORDS_PER_CHANGE) {
+                    DnsChanges.apply(client, getProjectId(), managedZone, chunkDeletions, chunkAdditions);
+                    chunkDeletions = new ArrayList<>();
+                    chunkAdditions = new ArrayList<>();
+                }
+
+                if (deletion != null) {
+                    chunkDeletions.add(deletion);
+                }
+
+                if (addition != null) {
+                    chunkAdditions.add(addition);
+                }
+            }
+
+            if (!chunkDeletions.isEmpty() || !chunkAdditions.isEmpty()) {
+                DnsChanges.apply(client, getProjectId(), managedZone, chunkDeletions, chunkAdditions);
+            }
+
+        } finally {
+            deletions.removeIf(Objects::isNull);
+            additions.removeIf(Objects::isNull);
+            ResourceRecordSetIndex.markChanged(getProjectId(), managedZone, deletions);
+            ResourceRecordSetIndex.markChanged(getProjectId(), managedZone, additions);
+        }
+    }
+
+    /**
+     * Record sets of the zone file, excluding the ones managed by Cloud DNS. The file is parsed once and the result is
+     * shared by the checksum, the sync and the delete. Callers get a copy they can change.
+     */
+    private Map<String, ResourceRecordSet> localRecordSets() {
+        if (localRecordSets == null) {
+            try (InputStream input = openInput(getFile())) {
+                localRecordSets = ZoneFileParser.parse(getFile(), input, getManagedZone().getDnsName());
+
+            } catch (GyroException ex) {
+                throw ex;
+
+            } catch (Exception ex) {
+                throw new GyroException(String.format("Unable to read zone file %s!", getFile()), ex);
+            }
+
+            localRecordSets.values().removeIf(this::isManagedByCloudDns);
+        }
+
+        return new TreeMap<>(localRecordSets);
+    }
+
+    /**
+     * Record sets of the managed zone keyed like {@link ZoneFileParser#key}, from a single listing of the zone.
+     */
+    private Map<String, ResourceRecordSet> remoteRecordSets(Dns client) throws Exception {
+        Map<String, ResourceRecordSet> remote = new TreeMap<>();
+
+        for (ResourceRecordSet recordSet : ResourceRecordSetIndex.list(
+            client,
+            getProjectId(),
+            getManagedZone().getName())) {
+
+            if (!isManagedByCloudDns(recordSet)) {
+                remote.put(ZoneFileParser.key(recordSet.getName(), recordSet.getType()), recordSet);
+            }
+        }
+
+        return remote;
+    }
+
+    private boolean isManagedByCloudDns(ResourceRecordSet recordSet) {
+        return "SOA".equals(recordSet.getType())
+            || ("NS".equals(recordSet.getType())
+            && recordSet.getName().equalsIgnoreCase(getManagedZone().getDnsName()));
+    }
+
+    private static String checksum(Map<String, ResourceRecordSet> recordSets) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        new TreeMap<>(recordSets).forEach((key, recordSet) -> hasher
+            .putString(key, StandardCharsets.UTF_8)
+            .putByte((byte) 0)
+            .putString(canonical(recordSet), StandardCharsets.UTF_8)
+            .putByte((byte) 0));
+
+        return hasher.hash().toString();
+    }
+
+    /**
+     * The TTL and sorted rrdatas of the record set, which is what Cloud DNS compares record sets by.
+     */
+    private static String canonical(ResourceRecordSet recordSet) {
+        List<String> rrdatas = new ArrayList<>(recordSet.getRrdatas() != null
+            ? recordSet.getRrdatas()
+            : new ArrayList<>());
+        rrdatas.sort(null);
+
+        return recordSet.getTtl() + " " + String.join("\n", rrdatas);
+    }
+}
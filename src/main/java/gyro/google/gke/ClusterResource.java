@@ -17,11 +17,16 @@
 package gyro.google.gke;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import com.google.api.gax.rpc.InvalidArgumentException;
@@ -37,10 +42,13 @@ import com.google.container.v1beta1.GetOperationRequest;
 import com.google.container.v1beta1.IntraNodeVisibilityConfig;
 import com.google.container.v1beta1.LoggingComponentConfig;
 import com.google.container.v1beta1.LoggingConfig;
+import com.google.container.v1beta1.MasterAuth;
+import com.google.container.v1beta1.NodePool;
 import com.google.container.v1beta1.Operation;
 import com.google.container.v1beta1.SetLabelsRequest;
 import com.google.container.v1beta1.SetNetworkPolicyRequest;
 import com.google.container.v1beta1.UpdateClusterRequest;
+import gyro.core.GyroException;
 import gyro.core.GyroUI;
 import gyro.core.Type;
 import gyro.core.Wait;
@@ -56,6 +64,7 @@ import gyro.google.Copyable;
 import gyro.google.GoogleResource;
 import gyro.google.compute.NetworkResource;
 import gyro.google.compute.SubnetworkResource;
+import gyro.google.util.RefreshCache;
 
 /**
  * .. code-block:: gyro
@@ -251,10 +260,19 @@ import gyro.google.compute.SubnetworkResource;
 @Type("gke-cluster")
 public class ClusterResource extends GoogleResource implements Copyable<Cluster> {
 
+    private static final long SNAPSHOT_TTL_SECONDS = 30;
+
+    private static final ExecutorService MASTER_AUTH_RESOLVER = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "gke-master-auth-resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private String location;
     private String name;
     private String description;
     private GkeMasterAuth masterAuthConfig;
+    private transient volatile CompletableFuture<MasterAuth> pendingMasterAuth;
     private String loggingService;
     private String monitoringService;
     private NetworkResource network;
@@ -298,6 +316,7 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
     private String endpoint;
     private String selfLink;
     private String labelFingerPrint;
+    private String pendingOperation;
 
     /**
      * The location where this cluster should live.
@@ -336,16 +355,31 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
     }
 
     /**
-     * The authentication information for accessing the master endpoint.
+     * The authentication information for accessing the master endpoint. If it wasn't available yet when the cluster
+     * was refreshed, it stays unset until it's resolved in the background or the cluster is refreshed again.
      *
      * @subresource gyro.google.gke.GkeMasterAuth
      */
     public GkeMasterAuth getMasterAuthConfig() {
+        CompletableFuture<MasterAuth> pending = pendingMasterAuth;
+
+        if (pending != null && pending.isDone()) {
+            MasterAuth masterAuth = pending.getNow(null);
+            pendingMasterAuth = null;
+
+            if (masterAuth != null) {
+                GkeMasterAuth config = newSubresource(GkeMasterAuth.class);
+                config.copyFrom(masterAuth);
+                masterAuthConfig = config;
+            }
+        }
+
         return masterAuthConfig;
     }
 
     public void setMasterAuthConfig(GkeMasterAuth masterAuthConfig) {
         this.masterAuthConfig = masterAuthConfig;
+        this.pendingMasterAuth = null;
     }
 
     /**
@@ -851,6 +885,19 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
         this.labelFingerPrint = labelFingerPrint;
     }
 
+    /**
+     * The name of the operation creating the cluster while it's still running, so that an interrupted run can wait
+     * for it instead of creating the cluster again.
+     */
+    @Output
+    public String getPendingOperation() {
+        return pendingOperation;
+    }
+
+    public void setPendingOperation(String pendingOperation) {
+        this.pendingOperation = pendingOperation;
+    }
+
     /**
      * The identity service configuration.
      *
@@ -1091,32 +1138,36 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
 
     @Override
     protected boolean doRefresh() throws Exception {
+        NodePoolOperations.getInstance(getClusterId()).awaitAll();
+
         try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
+            if (getPendingOperation() != null) {
+                try {
+                    waitForOperationComplete(client, Operation.newBuilder().setName(getPendingOperation()).build());
+
+                } catch (GyroException | NotFoundException ex) {
+                    // The cluster is refreshed below whether the operation succeeded, failed or expired.
+                }
+
+                setPendingOperation(null);
+            }
+
             Cluster cluster = getCluster(client);
 
+            NodePoolOperations.getInstance(getClusterId()).setExistingNodePools(cluster != null
+                ? cluster.getNodePoolsList().stream().map(NodePool::getName).collect(Collectors.toList())
+                : Collections.emptyList());
+
             if (cluster == null) {
                 return false;
             }
 
             copyFrom(cluster);
 
-            // Master Auth Config sometimes is not available instantly
-            if (getMasterAuthConfig() == null) {
-                Wait.checkEvery(30, TimeUnit.SECONDS)
-                    .atMost(5, TimeUnit.MINUTES)
-                    .prompt(false)
-                    .until(() -> {
-                        Cluster clusterObj = getCluster(client);
-                        if (clusterObj.hasMasterAuth()) {
-                            GkeMasterAuth config = newSubresource(GkeMasterAuth.class);
-                            config.copyFrom(clusterObj.getMasterAuth());
-                            setMasterAuthConfig(config);
-
-                            return true;
-                        }
-
-                        return false;
-                    });
+            // Master Auth Config sometimes is not available instantly, so it's resolved in the background and never
+            // waited for. It reads as unset until then.
+            if (masterAuthConfig == null) {
+                pendingMasterAuth = resolveMasterAuth();
             }
 
             return true;
@@ -1274,14 +1325,16 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
         }
 
         try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
-            client.createCluster(CreateClusterRequest.newBuilder()
+            Operation operation = client.createCluster(CreateClusterRequest.newBuilder()
                 .setParent(getParent())
                 .setCluster(builder.build())
                 .build());
 
+            setPendingOperation(operation.getName());
             state.save();
 
             waitForActiveStatus(client);
+            setPendingOperation(null);
         }
 
         state.save();
@@ -1293,26 +1346,29 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
 
     @Override
     protected void doUpdate(GyroUI ui, State state, Resource current, Set<String> changedFieldNames) throws Exception {
+        NodePoolOperations.getInstance(getClusterId()).awaitAll();
+
         try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
 
             ClusterUpdate.Builder builder = ClusterUpdate.newBuilder();
+            ClusterUpdatePlanner planner = new ClusterUpdatePlanner();
 
             if (changedFieldNames.contains("addons-config") && getAddonsConfig() != null) {
                 builder.setDesiredAddonsConfig(getAddonsConfig().toAddonsConfig());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("master-authorized-networks-config")
                 && getMasterAuthorizedNetworksConfig() != null) {
                 builder.setDesiredMasterAuthorizedNetworksConfig(getMasterAuthorizedNetworksConfig().toMasterAuthorizedNetworksConfig());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("binary-authorization-config") && getBinaryAuthorizationConfig() != null) {
                 builder.setDesiredBinaryAuthorization(getBinaryAuthorizationConfig().toBinaryAuthorization());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
@@ -1322,13 +1378,13 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
                     : ClusterAutoscaling.newBuilder().setEnableNodeAutoprovisioning(false).build();
 
                 builder.setDesiredClusterAutoscaling(autoscaling);
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("database-encryption") && getDatabaseEncryption() != null) {
                 builder.setDesiredDatabaseEncryption(getDatabaseEncryption().toDatabaseEncryption());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
@@ -1342,7 +1398,7 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
 
                 if (defaultSnatStatus != null && !defaultSnatStatus.getDisabled().equals(oldDefaultSnatDisabled)) {
                     builder.setDesiredDefaultSnatStatus(defaultSnatStatus.toDefaultSnatStatus());
-                    updateCluster(client, builder);
+                    planner.add(builder);
                     builder.clear();
                 }
 
@@ -1355,92 +1411,74 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
                     builder.setDesiredIntraNodeVisibilityConfig(IntraNodeVisibilityConfig.newBuilder()
                         .setEnabled(enableIntraNodeVisibility)
                         .build());
-                    updateCluster(client, builder);
+                    planner.add(builder);
                     builder.clear();
                 }
             }
 
             if (changedFieldNames.contains("master-version") && getMasterVersion() != null) {
                 builder.setDesiredMasterVersion(getMasterVersion());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("resource-usage-export-config") && getResourceUsageExportConfig() != null) {
                 builder.setDesiredResourceUsageExportConfig(getResourceUsageExportConfig().toResourceUsageExportConfig());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("private-cluster-config") && getPrivateClusterConfig() != null) {
                 builder.setDesiredPrivateClusterConfig(getPrivateClusterConfig().toPrivateClusterConfig());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("vertical-pod-autoscaling") && getVerticalPodAutoscaling() != null) {
                 builder.setDesiredVerticalPodAutoscaling(getVerticalPodAutoscaling().toVerticalPodAutoscaling());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("shielded-nodes") && getShieldedNodes() != null) {
                 builder.setDesiredShieldedNodes(getShieldedNodes().toShieldedNodes());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("release-channel") && getReleaseChannel() != null) {
                 builder.setDesiredReleaseChannel(getReleaseChannel().toReleaseChannel());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("workload-identity-config") && getWorkloadIdentityConfig() != null) {
                 builder.setDesiredWorkloadIdentityConfig(getWorkloadIdentityConfig().toWorkloadIdentityConfig());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("node-locations")) {
                 builder.addAllDesiredLocations(getNodeLocations());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("logging-service") && getLoggingService() != null) {
                 builder.setDesiredLoggingService(getLoggingService());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
             if (changedFieldNames.contains("monitoring-service") && getMonitoringService() != null) {
                 builder.setDesiredMonitoringService(getMonitoringService());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
-            if (changedFieldNames.contains("network-policy-config") && getNetworkPolicyConfig() != null) {
-                Operation operation = client.setNetworkPolicy(SetNetworkPolicyRequest.newBuilder()
-                    .setName(getClusterId())
-                    .setNetworkPolicy(getNetworkPolicyConfig().toNetworkPolicy()).build());
-
-                waitForOperationComplete(client, operation);
-            }
-
-            if (changedFieldNames.contains("labels")) {
-                Operation operation = client.setLabels(SetLabelsRequest.newBuilder()
-                    .setLabelFingerprint(getLabelFingerPrint())
-                    .putAllResourceLabels(getLabels())
-                    .setName(getClusterId())
-                    .build());
-
-                waitForOperationComplete(client, operation);
-            }
-
             if (changedFieldNames.contains("identity-service-config") && getIdentityServiceConfig() != null) {
                 builder.setDesiredIdentityServiceConfig(getIdentityServiceConfig().toIdentityServiceConfig());
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
 
@@ -1454,9 +1492,29 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
                 } else {
                     builder.setDesiredLoggingConfig(getLoggingConfig().toLoggingConfig());
                 }
-                updateCluster(client, builder);
+                planner.add(builder);
                 builder.clear();
             }
+
+            planner.apply(update -> updateCluster(client, update));
+
+            if (changedFieldNames.contains("network-policy-config") && getNetworkPolicyConfig() != null) {
+                Operation operation = client.setNetworkPolicy(SetNetworkPolicyRequest.newBuilder()
+                    .setName(getClusterId())
+                    .setNetworkPolicy(getNetworkPolicyConfig().toNetworkPolicy()).build());
+
+                waitForOperationComplete(client, operation);
+            }
+
+            if (changedFieldNames.contains("labels")) {
+                Operation operation = client.setLabels(SetLabelsRequest.newBuilder()
+                    .setLabelFingerprint(getLabelFingerPrint())
+                    .putAllResourceLabels(getLabels())
+                    .setName(getClusterId())
+                    .build());
+
+                waitForOperationComplete(client, operation);
+            }
         }
 
         doRefresh();
@@ -1464,6 +1522,8 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
 
     @Override
     protected void doDelete(GyroUI ui, State state) throws Exception {
+        NodePoolOperations.getInstance(getClusterId()).awaitAll();
+
         try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
             client.deleteCluster(DeleteClusterRequest.newBuilder().setName(getClusterId()).build());
 
@@ -1473,10 +1533,10 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
         }
     }
 
-    private void updateCluster(ClusterManagerClient client, ClusterUpdate.Builder builder) {
+    private void updateCluster(ClusterManagerClient client, ClusterUpdate update) {
         Operation operation = client.updateCluster(UpdateClusterRequest.newBuilder()
             .setName(getClusterId())
-            .setUpdate(builder.build())
+            .setUpdate(update)
             .build());
 
         waitForOperationComplete(client, operation);
@@ -1489,16 +1549,73 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
     }
 
     private void waitForOperationComplete(ClusterManagerClient client, Operation operation) {
+        waitForOperationComplete(client, operation, 20);
+    }
+
+    /**
+     * Waits for the operation on this cluster or one of its node pools to be done, failing if it completed with an
+     * error.
+     */
+    void waitForOperationComplete(ClusterManagerClient client, Operation operation, long timeoutMinutes) {
         String operationName = String.format("projects/%s/locations/%s/operations/%s",
             getProjectId(), getLocation(), operation.getName());
+        AtomicReference<Operation> current = new AtomicReference<>(operation);
 
-        Wait.atMost(20, TimeUnit.MINUTES)
+        boolean done = Wait.atMost(timeoutMinutes, TimeUnit.MINUTES)
             .checkEvery(10, TimeUnit.SECONDS)
-            .until(() -> client.getOperation(GetOperationRequest.newBuilder().setName(operationName).build())
-                .getStatus() == Operation.Status.DONE);
+            .prompt(false)
+            .until(() -> {
+                current.set(client.getOperation(GetOperationRequest.newBuilder().setName(operationName).build()));
+                return current.get().getStatus() == Operation.Status.DONE;
+            });
+
+        if (!done) {
+            throw new GyroException(String.format(
+                "Timed out waiting for operation %s on %s!",
+                operation.getName(),
+                getName()));
+        }
+
+        if (current.get().hasError() && current.get().getError().getCode() != 0) {
+            throw new GyroException(String.format(
+                "Operation %s on %s failed: %s",
+                operation.getName(),
+                getName(),
+                current.get().getError().getMessage()));
+        }
     }
 
-    private Cluster getCluster(ClusterManagerClient client) {
+    /**
+     * Polls the cluster every 30 seconds for up to 5 minutes until its master auth is available, completing with
+     * {@code null} if it never is.
+     */
+    private CompletableFuture<MasterAuth> resolveMasterAuth() {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
+                while (System.currentTimeMillis() < deadline) {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+
+                    Cluster cluster = getCluster(client);
+
+                    if (cluster != null && cluster.hasMasterAuth()) {
+                        return cluster.getMasterAuth();
+                    }
+                }
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+
+            } catch (Exception ex) {
+                // ignore
+            }
+
+            return null;
+        }, MASTER_AUTH_RESOLVER);
+    }
+
+    Cluster getCluster(ClusterManagerClient client) {
         Cluster cluster = null;
 
         try {
@@ -1507,9 +1624,32 @@ public class ClusterResource extends GoogleResource implements Copyable<Cluster>
             // ignore
         }
 
+        if (cluster != null) {
+            RefreshCache.put(getSnapshotKey(), cluster);
+
+        } else {
+            invalidateClusterSnapshot();
+        }
+
         return cluster;
     }
 
+    /**
+     * The cluster as last fetched by this process if it's at most {@value #SNAPSHOT_TTL_SECONDS} seconds old, which
+     * the node pools use instead of fetching themselves.
+     */
+    Cluster getClusterSnapshot() {
+        return RefreshCache.peek(getSnapshotKey(), TimeUnit.SECONDS.toMillis(SNAPSHOT_TTL_SECONDS));
+    }
+
+    void invalidateClusterSnapshot() {
+        RefreshCache.invalidate(getSnapshotKey());
+    }
+
+    private String getSnapshotKey() {
+        return String.format("gke/clusters/%s", getClusterId());
+    }
+
     protected String getClusterId() {
         return String.format("projects/%s/locations/%s/clusters/%s", getProjectId(), getLocation(), getName());
     }
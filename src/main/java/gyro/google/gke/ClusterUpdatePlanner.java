@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.gke;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.google.container.v1beta1.ClusterUpdate;
+
+/**
+ * Orders the {@link ClusterUpdate}s of a cluster change so that the master version is upgraded before anything else,
+ * letting the other updates rely on it.
+ *
+ * <p>
+ * ``UpdateCluster`` only accepts one desired field per request, so every update stays its own operation and is
+ * applied after the previous one completes.
+ * </p>
+ */
+class ClusterUpdatePlanner {
+
+    private final List<ClusterUpdate> masterVersion = new ArrayList<>();
+    private final List<ClusterUpdate> others = new ArrayList<>();
+
+    void add(ClusterUpdate.Builder builder) {
+        ClusterUpdate update = builder.build();
+
+        if (!update.getDesiredMasterVersion().isEmpty()) {
+            masterVersion.add(update);
+
+        } else {
+            others.add(update);
+        }
+    }
+
+    /**
+     * The updates in the order they're applied, one per request.
+     */
+    List<ClusterUpdate> plan() {
+        List<ClusterUpdate> plan = new ArrayList<>(masterVersion);
+        plan.addAll(others);
+
+        return plan;
+    }
+
+    /**
+     * Applies the plan, waiting for each request to complete before the next one is issued.
+     */
+    void apply(Consumer<ClusterUpdate> updateCluster) {
+        plan().forEach(updateCluster);
+    }
+}
@@ -16,23 +16,23 @@
 
 package gyro.google.gke;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import com.google.api.gax.rpc.InvalidArgumentException;
-import com.google.api.gax.rpc.NotFoundException;
 import com.google.cloud.container.v1beta1.ClusterManagerClient;
+import com.google.container.v1beta1.Cluster;
 import com.google.container.v1beta1.CreateNodePoolRequest;
 import com.google.container.v1beta1.DeleteNodePoolRequest;
-import com.google.container.v1beta1.GetNodePoolRequest;
 import com.google.container.v1beta1.NodeLabels;
 import com.google.container.v1beta1.NodePool;
 import com.google.container.v1beta1.NodeTaints;
 import com.google.container.v1beta1.SetNodePoolAutoscalingRequest;
 import com.google.container.v1beta1.SetNodePoolSizeRequest;
 import com.google.container.v1beta1.UpdateNodePoolRequest;
+import gyro.core.GyroException;
 import gyro.core.GyroUI;
 import gyro.core.Wait;
 import gyro.core.resource.Output;
@@ -53,6 +53,8 @@ import gyro.google.GoogleResource;
  */
 public class GkeNodePool extends GoogleResource implements Copyable<NodePool> {
 
+    private static final long NODE_POOL_OPERATION_TIMEOUT = 30;
+
     private GkeNodePoolAutoscaling autoscaling;
     private List<GkeStatusCondition> condition;
     private GkeNodeConfig config;
@@ -311,44 +313,75 @@ public class GkeNodePool extends GoogleResource implements Copyable<NodePool> {
 
     @Override
     protected boolean doRefresh() throws Exception {
+        ClusterResource parent = (ClusterResource) parentResource();
+        Cluster cluster = parent.getClusterSnapshot();
+
+        // A snapshot that is too old to use is replaced with a fresh one, which the other node pools share.
+        if (cluster == null) {
+            try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
+                cluster = parent.getCluster(client);
+            }
+        }
+
+        NodePool nodePool = cluster != null ? findNodePool(cluster) : null;
+
+        if (nodePool == null) {
+            return false;
+        }
+
+        copyFrom(nodePool);
+
         return true;
     }
 
     @Override
     protected void doCreate(GyroUI ui, State state) throws Exception {
-        try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
-            if (getNodePool(client) == null) {
-                client.createNodePool(CreateNodePoolRequest.newBuilder()
-                    .setParent(((ClusterResource) parentResource()).getClusterId())
-                    .setNodePool(buildNodePool())
-                    .build());
-                waitForActiveStatus(client);
-            }
+        ClusterResource cluster = (ClusterResource) parentResource();
+        String description = description(cluster, "creating");
+
+        // The creation is requested on this thread so the node pool exists by the time Gyro records it in the state.
+        // Only the wait for it to be running moves to the background.
+        try {
+            run(cluster, client -> {
+                if (getNodePool(client) == null) {
+                    NodePoolOperations.start(() -> client.createNodePool(CreateNodePoolRequest.newBuilder()
+                        .setParent(cluster.getClusterId())
+                        .setNodePool(buildNodePool())
+                        .build()));
+                }
+            });
+
+        } catch (Exception ex) {
+            throw new GyroException(String.format("Failed %s!", description), ex);
         }
+
+        NodePoolOperations.getInstance(cluster.getClusterId()).submitCreate(
+            getName(),
+            cluster.getNodePool().stream().map(GkeNodePool::getName).collect(Collectors.toList()),
+            description,
+            () -> run(cluster, this::waitForActiveStatus));
     }
 
     @Override
     protected void doUpdate(GyroUI ui, State state, Resource current, Set<String> changedFieldNames) throws Exception {
-        try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
-
-            UpdateNodePoolRequest.Builder builder = UpdateNodePoolRequest.newBuilder();
+        runAfterCreations("updating", client -> {
+            ClusterResource cluster = (ClusterResource) parentResource();
 
             if (changedFieldNames.contains("initial-node-count")) {
-                client.setNodePoolSize(SetNodePoolSizeRequest.newBuilder()
-                    .setName(getNodePoolId())
-                    .setNodeCount(getInitialNodeCount())
-                    .build());
-
-                Wait.atMost(30, TimeUnit.MINUTES)
-                    .checkEvery(5, TimeUnit.MINUTES)
-                    .until(() -> {
-                        NodePool nodePool = getNodePool(client);
-                        return nodePool.getStatus().equals(NodePool.Status.RUNNING)
-                            && nodePool.getInitialNodeCount() == getInitialNodeCount();
-                    });
+                cluster.waitForOperationComplete(
+                    client,
+                    NodePoolOperations.start(() -> client.setNodePoolSize(SetNodePoolSizeRequest.newBuilder()
+                        .setName(getNodePoolId())
+                        .setNodeCount(getInitialNodeCount())
+                        .build())),
+                    NODE_POOL_OPERATION_TIMEOUT);
             }
 
+            List<UpdateNodePoolRequest> updates = new ArrayList<>();
+
             if (changedFieldNames.contains("config") && getConfig() != null) {
+                UpdateNodePoolRequest.Builder builder = UpdateNodePoolRequest.newBuilder();
+
                 if (getConfig().getWorkloadMetadataConfig() != null) {
                     builder.setWorkloadMetadataConfig(getConfig().getWorkloadMetadataConfig()
                         .toWorkloadMetadataConfig());
@@ -370,61 +403,109 @@ public class GkeNodePool extends GoogleResource implements Copyable<NodePool> {
                     builder.setImageType(getConfig().getImageType());
                 }
 
-                updateCluster(client, builder);
-                builder.clear();
+                updates.add(builder.build());
             }
 
             if (changedFieldNames.contains("locations")) {
-                builder.addAllLocations(getLocations());
-                updateCluster(client, builder);
-                builder.clear();
+                updates.add(UpdateNodePoolRequest.newBuilder().addAllLocations(getLocations()).build());
             }
 
-            if (changedFieldNames.contains("upgradeSettings")) {
-                builder.setUpgradeSettings(getUpgradeSettings().toUpgradeSettings());
-                updateCluster(client, builder);
-                builder.clear();
+            if (changedFieldNames.contains("upgrade-settings") && getUpgradeSettings() != null) {
+                updates.add(UpdateNodePoolRequest.newBuilder()
+                    .setUpgradeSettings(getUpgradeSettings().toUpgradeSettings())
+                    .build());
             }
 
             if (changedFieldNames.contains("version")) {
-                builder.setNodeVersion(getVersion());
-                updateCluster(client, builder);
-                builder.clear();
+                updates.add(UpdateNodePoolRequest.newBuilder().setNodeVersion(getVersion()).build());
             }
 
+            updateNodePool(client, updates);
+
             if (changedFieldNames.contains("autoscaling")) {
+                SetNodePoolAutoscalingRequest.Builder builder = SetNodePoolAutoscalingRequest.newBuilder()
+                    .setName(getNodePoolId());
+
                 if (getAutoscaling() != null) {
-                    client.setNodePoolAutoscaling(SetNodePoolAutoscalingRequest.newBuilder().setName(getNodePoolId())
-                        .setAutoscaling(getAutoscaling().toNodePoolAutoscaling()).build());
+                    builder.setAutoscaling(getAutoscaling().toNodePoolAutoscaling());
                 } else {
-                    client.setNodePoolAutoscaling(SetNodePoolAutoscalingRequest.newBuilder()
-                        .setName(getNodePoolId()).clearAutoscaling().build());
+                    builder.clearAutoscaling();
                 }
-                waitForActiveStatus(client);
+
+                cluster.waitForOperationComplete(
+                    client,
+                    NodePoolOperations.start(() -> client.setNodePoolAutoscaling(builder.build())),
+                    NODE_POOL_OPERATION_TIMEOUT);
             }
-        }
+        });
     }
 
     @Override
     protected void doDelete(GyroUI ui, State state) throws Exception {
-        try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
-            client.deleteNodePool(DeleteNodePoolRequest.newBuilder().setName(getNodePoolId()).build());
+        runAfterCreations("deleting", client -> {
+            NodePoolOperations.start(() -> client.deleteNodePool(DeleteNodePoolRequest.newBuilder()
+                .setName(getNodePoolId())
+                .build()));
 
             Wait.atMost(15, TimeUnit.MINUTES)
                 .checkEvery(1, TimeUnit.MINUTES)
                 .until(() -> getNodePool(client) == null);
+        });
+    }
+
+    /**
+     * Applies the updates one ``UpdateNodePool`` operation at a time, each waiting for the previous one to complete.
+     * GKE can reject a combination of fields through the operation rather than the request, so the fields aren't
+     * merged into one request.
+     */
+    private void updateNodePool(ClusterManagerClient client, List<UpdateNodePoolRequest> updates) {
+        ClusterResource cluster = (ClusterResource) parentResource();
+
+        for (UpdateNodePoolRequest update : updates) {
+            cluster.waitForOperationComplete(
+                client,
+                NodePoolOperations.start(() -> client.updateNodePool(update.toBuilder()
+                    .setName(getNodePoolId())
+                    .build())),
+                NODE_POOL_OPERATION_TIMEOUT);
         }
     }
 
-    private void updateCluster(ClusterManagerClient client, UpdateNodePoolRequest.Builder builder) {
-        client.updateNodePool(builder.setName(getNodePoolId()).build());
-        waitForActiveStatus(client);
+    /**
+     * Runs the change once the node pool creations of the cluster still running in the background are done.
+     */
+    private void runAfterCreations(String action, ClientTask task) throws Exception {
+        ClusterResource cluster = (ClusterResource) parentResource();
+
+        NodePoolOperations.getInstance(cluster.getClusterId())
+            .run(description(cluster, action), () -> run(cluster, task));
+    }
+
+    private void run(ClusterResource cluster, ClientTask task) throws Exception {
+        try (ClusterManagerClient client = createClient(ClusterManagerClient.class)) {
+            task.run(client);
+
+        } finally {
+            cluster.invalidateClusterSnapshot();
+        }
+    }
+
+    private String description(ClusterResource cluster, String action) {
+        return String.format("%s node pool %s of %s", action, getName(), cluster.getName());
     }
 
     private void waitForActiveStatus(ClusterManagerClient client) {
-        Wait.atMost(30, TimeUnit.MINUTES)
+        boolean running = Wait.atMost(30, TimeUnit.MINUTES)
             .checkEvery(1, TimeUnit.MINUTES)
-            .until(() -> getNodePool(client).getStatus().equals(NodePool.Status.RUNNING));
+            .prompt(false)
+            .until(() -> {
+                NodePool nodePool = getNodePool(client);
+                return nodePool != null && nodePool.getStatus().equals(NodePool.Status.RUNNING);
+            });
+
+        if (!running) {
+            throw new GyroException(String.format("Timed out waiting for node pool %s to be running!", getName()));
+        }
     }
 
     protected NodePool buildNodePool() {
@@ -468,19 +549,35 @@ public class GkeNodePool extends GoogleResource implements Copyable<NodePool> {
         return builder.build();
     }
 
+    /**
+     * The node pool from the snapshot of the parent cluster, fetching the cluster once for every node pool if the
+     * snapshot is missing or too old.
+     */
     protected NodePool getNodePool(ClusterManagerClient client) {
-        NodePool nodePool = null;
+        ClusterResource parent = (ClusterResource) parentResource();
+        Cluster cluster = parent.getClusterSnapshot();
 
-        try {
-            nodePool = client.getNodePool(GetNodePoolRequest.newBuilder().setName(getNodePoolId()).build());
-        } catch (NotFoundException | InvalidArgumentException ex) {
-            // ignore
+        if (cluster == null) {
+            cluster = parent.getCluster(client);
         }
 
-        return nodePool;
+        return cluster != null ? findNodePool(cluster) : null;
+    }
+
+    private NodePool findNodePool(Cluster cluster) {
+        return cluster.getNodePoolsList().stream()
+            .filter(n -> n.getName().equals(getName()))
+            .findFirst()
+            .orElse(null);
     }
 
     protected String getNodePoolId() {
         return String.format("%s/nodePools/%s", ((ClusterResource) parentResource()).getClusterId(), getName());
     }
+
+    @FunctionalInterface
+    private interface ClientTask {
+
+        void run(ClusterManagerClient client) throws Exception;
+    }
 }
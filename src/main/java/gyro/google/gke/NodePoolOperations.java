@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.gke;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.api.gax.rpc.FailedPreconditionException;
+import com.google.container.v1beta1.Operation;
+import gyro.core.GyroCore;
+import gyro.core.GyroException;
+
+/**
+ * Runs the node pool creations of one cluster concurrently, up to {@value #MAX_CONCURRENT_OPERATIONS} at a time.
+ *
+ * <p>
+ * Gyro applies the node pools of a cluster one after the other. A creation is requested in the foreground, so the node
+ * pool exists before Gyro records it in the state, and the wait for it to be running moves to the background as long
+ * as more node pools of the cluster are still to be created in this run. The last one waits for every creation still
+ * running and throws the first failure, so the apply never ends with a failure unreported. Updates and deletes wait
+ * for the running creations and then run in the foreground.
+ * </p>
+ */
+class NodePoolOperations {
+
+    static final int MAX_CONCURRENT_OPERATIONS = 4;
+
+    private static final long INITIAL_RETRY_MILLIS = 15_000L;
+
+    private static final long MAX_RETRY_MILLIS = 120_000L;
+
+    private static final long RETRY_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Map<String, NodePoolOperations> CLUSTERS = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+    private final List<Pending> pending = new ArrayList<>();
+    private final Set<String> submittedCreations = new HashSet<>();
+    private Set<String> existingNodePools;
+
+    private NodePoolOperations() {
+        executor = new ThreadPoolExecutor(
+            MAX_CONCURRENT_OPERATIONS,
+            MAX_CONCURRENT_OPERATIONS,
+            1,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>());
+
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    static NodePoolOperations getInstance(String clusterId) {
+        return CLUSTERS.computeIfAbsent(clusterId, k -> new NodePoolOperations());
+    }
+
+    /**
+     * Starts an operation, waiting with backoff while GKE reports that the cluster is running an incompatible
+     * operation.
+     */
+    static Operation start(Supplier<Operation> request) {
+        long deadline = System.currentTimeMillis() + RETRY_TIMEOUT_MILLIS;
+        long delay = INITIAL_RETRY_MILLIS;
+
+        while (true) {
+            try {
+                return request.get();
+
+            } catch (FailedPreconditionException ex) {
+                if (!String.valueOf(ex.getMessage()).contains("incompatible operation")
+                    || System.currentTimeMillis() + delay > deadline) {
+                    throw ex;
+                }
+            }
+
+            try {
+                Thread.sleep(delay);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new GyroException("Interrupted while waiting to start a node pool operation!", ex);
+            }
+
+            delay = Math.min(delay * 2, MAX_RETRY_MILLIS);
+        }
+    }
+
+    /**
+     * Records the node pools the cluster had when it was last refreshed, which tells the node pools that aren't among
+     * them apart as the ones to be created.
+     */
+    synchronized void setExistingNodePools(Collection<String> nodePools) {
+        existingNodePools = new HashSet<>(nodePools);
+        submittedCreations.clear();
+    }
+
+    /**
+     * Submits the wait for the creation of the node pool. It runs in the background if another node pool of the cluster
+     * configuration is still to be created, and otherwise waits for every running creation including its own,
+     * throwing the first failure.
+     */
+    synchronized void submitCreate(
+        String nodePool,
+        Collection<String> configuredNodePools,
+        String description,
+        Task task) throws Exception {
+
+        if (pending.stream().anyMatch(p -> p.future.isDone())) {
+            awaitDone();
+        }
+
+        submittedCreations.add(nodePool);
+        pending.add(new Pending(description, executor.submit(() -> {
+            task.run();
+            return null;
+        })));
+
+        boolean moreCreations = existingNodePools != null && configuredNodePools.stream()
+            .anyMatch(n -> !existingNodePools.contains(n) && !submittedCreations.contains(n));
+
+        if (!moreCreations) {
+            awaitAll();
+        }
+    }
+
+    /**
+     * Runs the node pool task on the calling thread once every running creation is done, throwing the first failure
+     * of either.
+     */
+    void run(String description, Task task) throws Exception {
+        awaitAll();
+
+        try {
+            task.run();
+
+        } catch (Exception ex) {
+            throw new GyroException(String.format("Failed %s!", description), ex);
+        }
+    }
+
+    /**
+     * Waits for every submitted task, throwing the first failure and reporting the others.
+     */
+    synchronized void awaitAll() throws Exception {
+        Exception failure = null;
+
+        for (Pending p : pending) {
+            Exception ex = p.await();
+
+            if (failure == null) {
+                failure = ex;
+
+            } else if (ex != null) {
+                GyroCore.ui().write("\n@|red %s|@", ex.getMessage());
+            }
+        }
+
+        pending.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void awaitDone() throws Exception {
+        List<Pending> done = new ArrayList<>();
+
+        for (Pending p : pending) {
+            if (p.future.isDone()) {
+                done.add(p);
+            }
+        }
+
+        pending.removeAll(done);
+
+        for (Pending p : done) {
+            Exception ex = p.await();
+
+            if (ex != null) {
+                throw ex;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Task {
+
+        void run() throws Exception;
+    }
+
+    private static class Pending {
+
+        private final String description;
+        private final Future<?> future;
+
+        Pending(String description, Future<?> future) {
+            this.description = description;
+            this.future = future;
+        }
+
+        Exception await() {
+            try {
+                future.get();
+                return null;
+
+            } catch (ExecutionException ex) {
+                return new GyroException(String.format("Failed %s!", description), ex.getCause());
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return new GyroException(String.format("Interrupted while waiting for %s!", description), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.iam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.cloudresourcemanager.CloudResourceManager;
+import com.google.api.services.cloudresourcemanager.model.Binding;
+import com.google.api.services.cloudresourcemanager.model.GetIamPolicyRequest;
+import com.google.api.services.cloudresourcemanager.model.GetPolicyOptions;
+import com.google.api.services.cloudresourcemanager.model.Policy;
+import com.google.api.services.cloudresourcemanager.model.SetIamPolicyRequest;
+import gyro.google.util.RefreshCache;
+
+/**
+ * Project level IAM policy shared by every service account in the project.
+ *
+ * <p>
+ * The policy is read once per run and kept, along with its etag, in the {@link RefreshCache}. Role lookups are served
+ * from the cached copy. Role binding changes of a member are applied as a read-modify-write guarded by the etag, and
+ * are retried against a freshly read policy when another writer got there first. The policy returned by each write
+ * becomes the cached copy, so the next write doesn't need to read it again.
+ * </p>
+ */
+class ProjectIamPolicyManager {
+
+    private static final int POLICY_VERSION = 3;
+
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    private static final String OWNER_ROLE = "roles/owner";
+
+    private static final Map<String, ProjectIamPolicyManager> MANAGERS = new ConcurrentHashMap<>();
+
+    private final String projectId;
+
+    private ProjectIamPolicyManager(String projectId) {
+        this.projectId = projectId;
+    }
+
+    static ProjectIamPolicyManager getInstance(String projectId) {
+        return MANAGERS.computeIfAbsent(projectId, ProjectIamPolicyManager::new);
+    }
+
+    /**
+     * Bindings of the cached project policy that include the member, excluding ``roles/owner``.
+     */
+    List<Binding> getBindings(CloudResourceManager client, String member) throws Exception {
+        List<Binding> bindings = getPolicy(client).getBindings();
+
+        if (bindings == null) {
+            return Collections.emptyList();
+        }
+
+        return bindings.stream()
+            .filter(b -> b.getMembers() != null && b.getMembers().contains(member) && !OWNER_ROLE.equals(b.getRole()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Replace every binding of the member, other than ``roles/owner``, with the given bindings.
+     */
+    synchronized void replaceBindings(CloudResourceManager client, String member, List<Binding> memberBindings)
+        throws Exception {
+
+        for (int attempt = 1; ; attempt++) {
+            Policy policy = getPolicy(client).clone();
+            policy.setBindings(mergeBindings(policy.getBindings(), member, memberBindings));
+            policy.setVersion(POLICY_VERSION);
+
+            SetIamPolicyRequest request = new SetIamPolicyRequest();
+            request.setPolicy(policy);
+
+            try {
+                RefreshCache.put(policyKey(), client.projects().setIamPolicy(projectId, request).execute());
+                return;
+
+            } catch (GoogleJsonResponseException ex) {
+                RefreshCache.invalidate(policyKey());
+
+                if (ex.getStatusCode() != 409 || attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private Policy getPolicy(CloudResourceManager client) throws Exception {
+        return RefreshCache.get(policyKey(), () -> {
+            GetIamPolicyRequest request = new GetIamPolicyRequest();
+            GetPolicyOptions policyOptions = new GetPolicyOptions();
+            policyOptions.setRequestedPolicyVersion(POLICY_VERSION);
+            request.setOptions(policyOptions);
+
+            return client.projects().getIamPolicy(projectId, request).execute();
+        });
+    }
+
+    private static List<Binding> mergeBindings(
+        List<Binding> currentBindings,
+        String member,
+        List<Binding> memberBindings) {
+
+        List<Binding> newBindings = new ArrayList<>();
+
+        if (currentBindings != null) {
+            for (Binding b : currentBindings) {
+                if (b.getMembers() != null && !OWNER_ROLE.equals(b.getRole())
+                    && b.getMembers().contains(member)) {
+                    List<String> remaining = b.getMembers()
+                        .stream()
+                        .filter(m -> !m.equals(member))
+                        .collect(Collectors.toList());
+
+                    if (!remaining.isEmpty()) {
+                        Binding binding = new Binding();
+                        binding.setMembers(remaining);
+                        binding.setRole(b.getRole());
+                        binding.setCondition(b.getCondition());
+                        newBindings.add(binding);
+                    }
+
+                } else {
+                    newBindings.add(b);
+                }
+            }
+        }
+
+        newBindings.addAll(memberBindings);
+
+        return newBindings;
+    }
+
+    private String policyKey() {
+        return String.format("iam/project-policy/%s", projectId);
+    }
+}
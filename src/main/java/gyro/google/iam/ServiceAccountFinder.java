@@ -69,26 +69,7 @@ public class ServiceAccountFinder extends GoogleFinder<Iam, ServiceAccount, Serv
 
     @Override
     protected List<ServiceAccount> findAllGoogle(Iam client) throws Exception {
-        String token = null;
-        List<ServiceAccount> serviceAccounts = new ArrayList<>();
-
-        do {
-            Iam.Projects.ServiceAccounts.List list = client.projects()
-                .serviceAccounts()
-                .list(String.format("projects/%s", getProjectId()))
-                .setPageSize(20);
-
-            if (!StringUtils.isBlank(token)) {
-                list = list.setPageToken(token);
-            }
-
-            ListServiceAccountsResponse response = list.execute();
-            token = response.getNextPageToken();
-
-            serviceAccounts.addAll(response.getAccounts());
-        } while (!StringUtils.isBlank(token));
-
-        return serviceAccounts;
+        return ServiceAccountResource.listServiceAccounts(client, getProjectId());
     }
 
     @Override
@@ -100,7 +81,7 @@ public class ServiceAccountFinder extends GoogleFinder<Iam, ServiceAccount, Serv
             Iam.Projects.ServiceAccounts.List list = client.projects()
                 .serviceAccounts()
                 .list(String.format("projects/%s", getProjectId()))
-                .setPageSize(20);
+                .setPageSize(ServiceAccountResource.LIST_PAGE_SIZE);
 
             if (!StringUtils.isBlank(token)) {
                 list = list.setPageToken(token);
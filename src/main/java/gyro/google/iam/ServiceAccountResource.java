@@ -20,15 +20,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.api.services.cloudresourcemanager.CloudResourceManager;
 import com.google.api.services.cloudresourcemanager.model.Binding;
-import com.google.api.services.cloudresourcemanager.model.GetIamPolicyRequest;
-import com.google.api.services.cloudresourcemanager.model.GetPolicyOptions;
-import com.google.api.services.cloudresourcemanager.model.Policy;
-import com.google.api.services.cloudresourcemanager.model.SetIamPolicyRequest;
 import com.google.api.services.iam.v1.Iam;
 import com.google.api.services.iam.v1.model.CreateServiceAccountRequest;
 import com.google.api.services.iam.v1.model.DisableServiceAccountRequest;
@@ -46,6 +45,7 @@ import gyro.core.validation.Regex;
 import gyro.core.validation.Required;
 import gyro.google.Copyable;
 import gyro.google.GoogleResource;
+import gyro.google.util.RefreshCache;
 import gyro.google.util.Utils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -66,6 +66,10 @@ import org.apache.commons.lang3.StringUtils;
 @Type("service-account")
 public class ServiceAccountResource extends GoogleResource implements Copyable<ServiceAccount> {
 
+    static final int LIST_PAGE_SIZE = 100;
+
+    private static final int INDEX_REFRESH_THRESHOLD = 5;
+
     private String displayName;
     private String description;
     private String name;
@@ -174,33 +178,19 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
     @Override
     protected boolean doRefresh() throws Exception {
         Iam client = createClient(Iam.class);
-        String token = null;
-        ServiceAccount serviceAccount;
-
-        do {
-            Iam.Projects.ServiceAccounts.List list = client.projects()
-                .serviceAccounts()
-                .list(String.format("projects/%s", getProjectId()))
-                .setPageSize(20);
-
-            if (!StringUtils.isBlank(token)) {
-                list = list.setPageToken(token);
-            }
-
-            ListServiceAccountsResponse response = list.execute();
-            token = response.getNextPageToken();
+        ServiceAccount serviceAccount = null;
 
-            serviceAccount = response.getAccounts().stream()
-                .filter(r -> r.getName().equals(getId())).findFirst().orElse(null);
+        Map<String, ServiceAccount> index = getServiceAccountIndex(client);
 
-            if (serviceAccount != null) {
-                token = null;
-            }
-
-        } while (!StringUtils.isBlank(token));
+        if (index != null) {
+            serviceAccount = index.get(getId());
+        }
 
         if (serviceAccount == null) {
-            return false;
+            serviceAccount = client.projects()
+                .serviceAccounts()
+                .get(getId())
+                .execute();
         }
 
         copyFrom(serviceAccount);
@@ -229,6 +219,7 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
             .execute();
 
         copyFrom(response, false);
+        RefreshCache.invalidate(serviceAccountIndexKey(getProjectId()));
         state.save();
 
         if (getEnableAccount() != null && getEnableAccount().equals(Boolean.FALSE)) {
@@ -263,6 +254,8 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
             client.projects().serviceAccounts().update(getId(), serviceAccount).execute();
         }
 
+        RefreshCache.invalidate(serviceAccountIndexKey(getProjectId()));
+
         if (changedFieldNames.contains("service-account-role")) {
             manageIamPolicies();
         }
@@ -281,6 +274,8 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
             .serviceAccounts()
             .delete(getId())
             .execute();
+
+        RefreshCache.invalidate(serviceAccountIndexKey(getProjectId()));
     }
 
     private void changeServiceAccountStatus(Iam client) throws IOException {
@@ -298,34 +293,11 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
         }
     }
 
-    private void manageIamPolicies() throws IOException {
+    private void manageIamPolicies() throws Exception {
         CloudResourceManager client = createClient(CloudResourceManager.class);
 
-        Policy policy = getPolicy(client);
-
-        List<Binding> currentBindings = policy.getBindings();
-        List<Binding> newBindings = new ArrayList<>();
         String member = String.format("serviceAccount:%s", getEmail());
-
-        for (Binding b : currentBindings) {
-            if (b.getMembers().contains(member) && !b.getRole().equals("roles/owner")) {
-                List<String> members = b.getMembers()
-                    .stream()
-                    .filter(m -> !m.equals(member))
-                    .collect(Collectors.toList());
-
-                if (!members.isEmpty()) {
-                    Binding binding = new Binding();
-                    binding.setMembers(members);
-                    binding.setRole(b.getRole());
-                    binding.setCondition(b.getCondition());
-                    newBindings.add(binding);
-                }
-
-            } else {
-                newBindings.add(b);
-            }
-        }
+        List<Binding> bindings = new ArrayList<>();
 
         for (ServiceAccountRole r : getServiceAccountRole()) {
             Binding binding = new Binding();
@@ -336,15 +308,10 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
                 binding.setCondition(r.getCondition().toExpr());
             }
 
-            newBindings.add(binding);
+            bindings.add(binding);
         }
 
-        policy.setBindings(newBindings);
-        policy.setVersion(3);
-        SetIamPolicyRequest setIamPolicyRequest = new SetIamPolicyRequest();
-        setIamPolicyRequest.setPolicy(policy);
-
-        client.projects().setIamPolicy(getProjectId(), setIamPolicyRequest).execute();
+        ProjectIamPolicyManager.getInstance(getProjectId()).replaceBindings(client, member, bindings);
     }
 
     private void copyFrom(ServiceAccount model, Boolean refreshRolesAndStatus) throws Exception {
@@ -365,16 +332,11 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
     private void refreshRoles() throws Exception {
         CloudResourceManager client = createClient(CloudResourceManager.class);
 
-        Policy policy = getPolicy(client);
-
         getServiceAccountRole().clear();
 
         String member = String.format("serviceAccount:%s", getEmail());
 
-        List<Binding> bindings = policy.getBindings()
-            .stream()
-            .filter(b -> b.getMembers().contains(member) && !b.getRole().equals("roles/owner"))
-            .collect(Collectors.toList());
+        List<Binding> bindings = ProjectIamPolicyManager.getInstance(getProjectId()).getBindings(client, member);
 
         for (Binding b : bindings) {
             ServiceAccountRole role = newSubresource(ServiceAccountRole.class);
@@ -404,12 +366,54 @@ public class ServiceAccountResource extends GoogleResource implements Copyable<S
         return builder.build();
     }
 
-    private Policy getPolicy(CloudResourceManager client) throws IOException {
-        GetIamPolicyRequest request = new GetIamPolicyRequest();
-        GetPolicyOptions policyOptions = new GetPolicyOptions();
-        policyOptions.setRequestedPolicyVersion(3);
-        request.setOptions(policyOptions);
+    /**
+     * Service accounts of the project keyed by ID, shared by every service account refreshed in this run. The first
+     * few refreshes go straight to ``serviceAccounts.get`` and the index is only built once enough service accounts
+     * of the same project are being refreshed to make a full listing cheaper.
+     */
+    private Map<String, ServiceAccount> getServiceAccountIndex(Iam client) throws Exception {
+        String projectId = getProjectId();
+        String key = serviceAccountIndexKey(projectId);
+        Map<String, ServiceAccount> index = RefreshCache.peek(key);
+
+        if (index != null) {
+            return index;
+        }
+
+        if (RefreshCache.get(key + "/refreshes", AtomicInteger::new).incrementAndGet() < INDEX_REFRESH_THRESHOLD) {
+            return null;
+        }
+
+        return RefreshCache.get(key, () -> listServiceAccounts(client, projectId).stream()
+            .collect(Collectors.toMap(ServiceAccount::getName, Function.identity())));
+    }
+
+    static List<ServiceAccount> listServiceAccounts(Iam client, String projectId) throws IOException {
+        String token = null;
+        List<ServiceAccount> serviceAccounts = new ArrayList<>();
+
+        do {
+            Iam.Projects.ServiceAccounts.List list = client.projects()
+                .serviceAccounts()
+                .list(String.format("projects/%s", projectId))
+                .setPageSize(LIST_PAGE_SIZE);
+
+            if (!StringUtils.isBlank(token)) {
+                list = list.setPageToken(token);
+            }
+
+            ListServiceAccountsResponse response = list.execute();
+            token = response.getNextPageToken();
+
+            if (response.getAccounts() != null) {
+                serviceAccounts.addAll(response.getAccounts());
+            }
+        } while (!StringUtils.isBlank(token));
+
+        return serviceAccounts;
+    }
 
-        return client.projects().getIamPolicy(getProjectId(), request).execute();
+    private static String serviceAccountIndexKey(String projectId) {
+        return String.format("iam/service-accounts/%s", projectId);
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.kms;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.cloud.kms.v1.CryptoKey;
+import com.google.cloud.kms.v1.CryptoKeyVersion;
+import com.google.cloud.kms.v1.CryptoKeyVersion.CryptoKeyVersionView;
+import com.google.cloud.kms.v1.KeyManagementServiceClient;
+import com.google.cloud.kms.v1.ListCryptoKeyVersionsRequest;
+import com.google.cloud.kms.v1.ListCryptoKeysRequest;
+import gyro.google.util.RefreshCache;
+import gyro.google.util.Utils;
+
+/**
+ * Crypto keys of a key ring, listed once with their full primary versions and shared by every crypto key and crypto
+ * key version refreshed in the same run.
+ *
+ * <p>
+ * ``listCryptoKeys`` only carries the primary version of each key, so other versions are looked up directly until
+ * enough versions of the same key are being refreshed to make listing the versions of that key cheaper. Resources
+ * that change a key or its versions must call {@link #invalidate(String)}.
+ * </p>
+ */
+final class CryptoKeyIndex {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final int VERSION_INDEX_LOOKUP_THRESHOLD = 5;
+
+    private CryptoKeyIndex() {
+    }
+
+    /**
+     * Find the crypto key with the ID, or {@code null} if it or its key ring doesn't exist.
+     */
+    static CryptoKey findCryptoKey(KeyManagementServiceClient client, String cryptoKeyId) throws Exception {
+        return getCryptoKeys(client, Utils.getKmsKeyRingIdFromId(cryptoKeyId)).get(cryptoKeyId);
+    }
+
+    /**
+     * Find the crypto key version with the ID, or {@code null} if it doesn't exist.
+     */
+    static CryptoKeyVersion findCryptoKeyVersion(KeyManagementServiceClient client, String versionId)
+        throws Exception {
+
+        String cryptoKeyId = Utils.getKmsKeyIdFromId(versionId);
+        CryptoKey cryptoKey = findCryptoKey(client, cryptoKeyId);
+
+        if (cryptoKey == null) {
+            return null;
+
+        } else if (cryptoKey.hasPrimary() && cryptoKey.getPrimary().getName().equals(versionId)) {
+            return cryptoKey.getPrimary();
+        }
+
+        Map<String, CryptoKeyVersion> versions = RefreshCache.peek(versionIndexKey(cryptoKeyId));
+
+        if (versions == null && RefreshCache.get(versionIndexKey(cryptoKeyId) + "/lookups", AtomicInteger::new)
+            .incrementAndGet() >= VERSION_INDEX_LOOKUP_THRESHOLD) {
+            versions = getCryptoKeyVersions(client, cryptoKeyId);
+        }
+
+        if (versions != null) {
+            return versions.get(versionId);
+        }
+
+        try {
+            return client.getCryptoKeyVersion(versionId);
+
+        } catch (NotFoundException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Drop the crypto keys of the key ring holding the crypto key, along with the versions of the crypto key, so that
+     * later lookups go back to the API.
+     */
+    static void invalidate(String cryptoKeyId) {
+        RefreshCache.invalidate(cryptoKeyIndexKey(Utils.getKmsKeyRingIdFromId(cryptoKeyId)));
+        RefreshCache.invalidate(versionIndexKey(cryptoKeyId));
+    }
+
+    private static Map<String, CryptoKey> getCryptoKeys(KeyManagementServiceClient client, String keyRingId)
+        throws Exception {
+
+        return RefreshCache.get(cryptoKeyIndexKey(keyRingId), () -> {
+            Map<String, CryptoKey> cryptoKeys = new HashMap<>();
+
+            try {
+                client.listCryptoKeys(ListCryptoKeysRequest.newBuilder()
+                    .setParent(keyRingId)
+                    .setPageSize(PAGE_SIZE)
+                    .setVersionView(CryptoKeyVersionView.FULL)
+                    .build())
+                    .iterateAll()
+                    .forEach(k -> cryptoKeys.put(k.getName(), k));
+
+            } catch (NotFoundException ex) {
+                // The key ring is gone, and so are its crypto keys.
+            }
+
+            return cryptoKeys;
+        });
+    }
+
+    private static Map<String, CryptoKeyVersion> getCryptoKeyVersions(
+        KeyManagementServiceClient client,
+        String cryptoKeyId) throws Exception {
+
+        return RefreshCache.get(versionIndexKey(cryptoKeyId), () -> {
+            Map<String, CryptoKeyVersion> versions = new HashMap<>();
+
+            try {
+                client.listCryptoKeyVersions(ListCryptoKeyVersionsRequest.newBuilder()
+                    .setParent(cryptoKeyId)
+                    .setPageSize(PAGE_SIZE)
+                    .setView(CryptoKeyVersionView.FULL)
+                    .build())
+                    .iterateAll()
+                    .forEach(v -> versions.put(v.getName(), v));
+
+            } catch (NotFoundException ex) {
+                // The crypto key is gone, and so are its versions.
+            }
+
+            return versions;
+        });
+    }
+
+    private static String cryptoKeyIndexKey(String keyRingId) {
+        return String.format("kms/crypto-keys/%s", keyRingId);
+    }
+
+    private static String versionIndexKey(String cryptoKeyId) {
+        return String.format("kms/crypto-key-versions/%s", cryptoKeyId);
+    }
+}
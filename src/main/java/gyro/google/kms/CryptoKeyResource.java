@@ -19,8 +19,10 @@ package gyro.google.kms;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,8 +30,10 @@ import java.util.Set;
 import com.google.cloud.kms.v1.CryptoKey;
 import com.google.cloud.kms.v1.CryptoKey.CryptoKeyPurpose;
 import com.google.cloud.kms.v1.CryptoKeyPathName;
+import com.google.cloud.kms.v1.CryptoKeyVersion;
 import com.google.cloud.kms.v1.KeyManagementServiceClient;
 import com.google.cloud.kms.v1.KeyRingName;
+import com.google.cloud.kms.v1.ListCryptoKeyVersionsRequest;
 import com.google.protobuf.Duration;
 import com.google.protobuf.FieldMask;
 import com.google.protobuf.Timestamp;
@@ -74,6 +78,10 @@ import gyro.google.util.Utils;
 @Type("crypto-key")
 public class CryptoKeyResource extends GoogleResource implements Copyable<CryptoKey> {
 
+    private static final int DEFAULT_MAX_VERSIONS = 100;
+
+    private static final int MAX_VERSIONS_PAGE_SIZE = 100;
+
     private KeyRingResource keyRing;
     private String name;
     private Long rotationPeriod;
@@ -82,6 +90,8 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
     private CryptoKeyVersionTemplate cryptoKeyVersionTemplate;
     private Map<String, String> labels;
     private String primaryKeyVersionId;
+    private Integer maxVersions;
+    private Boolean skipDestroyedVersions;
 
     // Read-only
     private String id;
@@ -193,6 +203,40 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
         this.primaryKeyVersionId = primaryKeyVersionId;
     }
 
+    /**
+     * The maximum number of version names kept in ``versions``, dropping the oldest ones. Defaults to ``100``.
+     */
+    @Updatable
+    @Min(1)
+    public Integer getMaxVersions() {
+        if (maxVersions == null) {
+            maxVersions = DEFAULT_MAX_VERSIONS;
+        }
+
+        return maxVersions;
+    }
+
+    public void setMaxVersions(Integer maxVersions) {
+        this.maxVersions = maxVersions;
+    }
+
+    /**
+     * When ``true``, versions in the ``DESTROYED`` state are left out of ``versions``. Versions already listed aren't
+     * removed when they're destroyed later on, only when they fall out of ``max-versions``. Defaults to ``false``.
+     */
+    @Updatable
+    public Boolean getSkipDestroyedVersions() {
+        if (skipDestroyedVersions == null) {
+            skipDestroyedVersions = false;
+        }
+
+        return skipDestroyedVersions;
+    }
+
+    public void setSkipDestroyedVersions(Boolean skipDestroyedVersions) {
+        this.skipDestroyedVersions = skipDestroyedVersions;
+    }
+
     /**
      * The ID of the crypto key.
      */
@@ -207,7 +251,7 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
     }
 
     /**
-     * The list of versions of the crypto key.
+     * The names of the newest versions of the crypto key, oldest first.
      */
     @Output
     public List<String> getVersions() {
@@ -223,6 +267,17 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
 
     @Override
     public void copyFrom(CryptoKey model) throws Exception {
+        KeyManagementServiceClient client = createClient(KeyManagementServiceClient.class);
+
+        try {
+            copyFrom(model, client);
+
+        } finally {
+            client.shutdownNow();
+        }
+    }
+
+    private void copyFrom(CryptoKey model, KeyManagementServiceClient client) throws Exception {
         setId(model.getName());
         setPurpose(model.getPurpose());
         setKeyRing(findById(KeyRingResource.class, Utils.getKmsKeyRingIdFromId(getId())));
@@ -248,20 +303,21 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
             setPrimaryKeyVersionId(Utils.getKmsPrimaryKeyVersionFromId(model.getPrimary().getName()));
         }
 
-        refreshVersions();
+        refreshVersions(client);
     }
 
     @Override
     protected boolean doRefresh() throws Exception {
         KeyManagementServiceClient client = createClient(KeyManagementServiceClient.class);
 
-        CryptoKey cryptoKey = client.getCryptoKey(getId());
+        CryptoKey cryptoKey = CryptoKeyIndex.findCryptoKey(client, getId());
 
         if (cryptoKey == null) {
+            client.shutdownNow();
             return false;
         }
 
-        copyFrom(cryptoKey);
+        copyFrom(cryptoKey, client);
 
         client.shutdownNow();
 
@@ -305,7 +361,8 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
             client.updateCryptoKeyPrimaryVersion(cryptoKeyPathName, Utils.getKmsPrimaryKeyVersionFromId(getPrimaryKeyVersionId()));
         }
 
-        copyFrom(response);
+        CryptoKeyIndex.invalidate(response.getName());
+        copyFrom(response, client);
 
         client.shutdownNow();
     }
@@ -334,7 +391,10 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
             fieldMaskBuilder.addPaths("labels");
         }
 
-        client.updateCryptoKey(cryptoKeyBuilder.build(), fieldMaskBuilder.build());
+        // Only max-versions or skip-destroyed-versions may have changed, which aren't part of the crypto key.
+        if (fieldMaskBuilder.getPathsCount() > 0) {
+            client.updateCryptoKey(cryptoKeyBuilder.build(), fieldMaskBuilder.build());
+        }
 
         String parent = CryptoKeyPathName.format(
             getProjectId(),
@@ -346,6 +406,8 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
             client.updateCryptoKeyPrimaryVersion(parent, Utils.getKmsPrimaryKeyVersionFromId(getPrimaryKeyVersionId()));
         }
 
+        CryptoKeyIndex.invalidate(getId());
+
         client.shutdownNow();
     }
 
@@ -379,13 +441,47 @@ public class CryptoKeyResource extends GoogleResource implements Copyable<Crypto
         return errors;
     }
 
-    private void refreshVersions() {
-        KeyManagementServiceClient client = createClient(KeyManagementServiceClient.class);
-        getVersions().clear();
-        client.listCryptoKeyVersions(getId())
-            .iterateAll()
-            .forEach(v -> getVersions().add(v.getName()));
+    /**
+     * Lists the versions created since the newest one in ``versions``, newest first, stopping at the first version
+     * already known or once ``max-versions`` names have been listed. Only the pages needed are fetched, so the cost
+     * of a refresh doesn't grow with the age of the key.
+     */
+    private void refreshVersions(KeyManagementServiceClient client) {
+        Set<String> known = new HashSet<>(getVersions());
+        List<String> listed = new ArrayList<>();
+        boolean reachedKnown = false;
+
+        ListCryptoKeyVersionsRequest.Builder request = ListCryptoKeyVersionsRequest.newBuilder()
+            .setParent(getId())
+            .setPageSize(Math.min(getMaxVersions(), MAX_VERSIONS_PAGE_SIZE))
+            .setOrderBy("create_time desc");
+
+        if (getSkipDestroyedVersions()) {
+            request.setFilter("state != DESTROYED");
+        }
 
-        client.shutdownNow();
+        for (CryptoKeyVersion version : client.listCryptoKeyVersions(request.build()).iterateAll()) {
+            if (known.contains(version.getName())) {
+                reachedKnown = true;
+                break;
+            }
+
+            listed.add(version.getName());
+
+            if (listed.size() >= getMaxVersions()) {
+                break;
+            }
+        }
+
+        // Without reaching a known version, the listing covers the newest versions on its own.
+        List<String> versions = reachedKnown ? new ArrayList<>(getVersions()) : new ArrayList<>();
+        Collections.reverse(listed);
+        versions.addAll(listed);
+
+        if (versions.size() > getMaxVersions()) {
+            versions = new ArrayList<>(versions.subList(versions.size() - getMaxVersions(), versions.size()));
+        }
+
+        setVersions(versions);
     }
 }
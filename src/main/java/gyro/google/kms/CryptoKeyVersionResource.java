@@ -109,9 +109,10 @@ public class CryptoKeyVersionResource extends GoogleResource implements Copyable
     protected boolean doRefresh() throws Exception {
         KeyManagementServiceClient client = createClient(KeyManagementServiceClient.class);
 
-        CryptoKeyVersion cryptoKeyVersion = client.getCryptoKeyVersion(getId());
+        CryptoKeyVersion cryptoKeyVersion = CryptoKeyIndex.findCryptoKeyVersion(client, getId());
 
         if (cryptoKeyVersion == null) {
+            client.shutdownNow();
             return false;
         }
 
@@ -137,6 +138,7 @@ public class CryptoKeyVersionResource extends GoogleResource implements Copyable
             CryptoKeyVersion.newBuilder().setState(getState()).build());
 
         setId(response.getName());
+        CryptoKeyIndex.invalidate(getCryptoKey().getId());
 
         client.shutdownNow();
     }
@@ -150,6 +152,8 @@ public class CryptoKeyVersionResource extends GoogleResource implements Copyable
             CryptoKeyVersion.newBuilder().setName(getId()).setState(getState()).build(),
             FieldMask.newBuilder().addPaths("state").build());
 
+        CryptoKeyIndex.invalidate(getCryptoKey().getId());
+
         client.shutdownNow();
     }
 
@@ -158,6 +162,7 @@ public class CryptoKeyVersionResource extends GoogleResource implements Copyable
         KeyManagementServiceClient client = createClient(KeyManagementServiceClient.class);
 
         client.destroyCryptoKeyVersion(getId());
+        CryptoKeyIndex.invalidate(getCryptoKey().getId());
 
         client.shutdownNow();
     }
@@ -68,6 +68,24 @@
  *         {@literal @}uses-credentials: 'project-2'
  *     end
  *
+ * Endpoint overrides
+ * ++++++++++++++++++
+ *
+ * The API endpoint used for a service can be overridden with ``endpoints``, keyed by the service name of the client
+ * library (``compute``, ``container``, ``dns``, ``kms``, ``sqladmin``, ``storage``, ...). This is useful to point the
+ * provider at a local stand-in of an API, for example to measure call counts against a large simulated project. The
+ * ``storage`` override also applies to the state backend and ``google::storage-object-sync``.
+ *
+ * .. code:: shell
+ *
+ *     {@literal @}credentials 'google::credentials'
+ *         credential-file-path: '<path_to_credentials_file>'
+ *         project-id: 'Project-1-ID'
+ *         endpoints: {
+ *             compute: 'http://localhost:8080'
+ *         }
+ *     {@literal @}end
+ *
  */
 @DocNamespace("google")
 @Namespace("google")
@@ -16,16 +16,17 @@
 
 package gyro.google.storage;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.model.Bucket;
 import com.google.api.services.storage.model.Buckets;
 import gyro.core.Type;
 import gyro.google.GoogleFinder;
+import gyro.google.util.PagedIterator;
 
 /**
  * Query for a bucket.
@@ -36,11 +37,17 @@ import gyro.google.GoogleFinder;
  * .. code-block:: gyro
  *
  *    bucket: $(external-query google::bucket { name: 'example-one' })
+ *
+ *    buckets: $(external-query google::bucket { prefix: 'example-' })
  */
 @Type("bucket")
 public class BucketFinder extends GoogleFinder<Storage, Bucket, BucketResource> {
 
+    private static final long DEFAULT_MAX_RESULTS = 1000L;
+
     private String name;
+    private String prefix;
+    private String maxResults;
 
     /**
      * The name of the bucket.
@@ -53,33 +60,66 @@ public class BucketFinder extends GoogleFinder<Storage, Bucket, BucketResource>
         this.name = name;
     }
 
-    @Override
-    protected List<Bucket> findAllGoogle(Storage client) throws Exception {
-        List<Bucket> buckets = new ArrayList<>();
-        String pageToken;
+    /**
+     * Only return buckets whose names begin with this prefix.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
 
-        do {
-            Buckets results = client.buckets().list(getProjectId()).execute();
-            pageToken = results.getNextPageToken();
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
 
-            if (results.getItems() != null) {
-                buckets.addAll(results.getItems());
-            }
-        } while (pageToken != null);
+    /**
+     * The number of buckets fetched per page. Defaults to ``1000``.
+     */
+    public String getMaxResults() {
+        return maxResults;
+    }
 
-        return buckets;
+    public void setMaxResults(String maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    protected List<Bucket> findAllGoogle(Storage client) throws Exception {
+        return streamAllGoogle(client).collect(Collectors.toList());
     }
 
     @Override
     protected List<Bucket> findGoogle(Storage client, Map<String, String> filters) throws Exception {
+        return streamGoogle(client, filters).collect(Collectors.toList());
+    }
+
+    @Override
+    protected Stream<Bucket> streamAllGoogle(Storage client) {
+        return listBuckets(client, null, DEFAULT_MAX_RESULTS);
+    }
+
+    @Override
+    protected Stream<Bucket> streamGoogle(Storage client, Map<String, String> filters) throws Exception {
         if (filters.containsKey("name")) {
             Bucket bucket = client.buckets().get(filters.get("name")).execute();
 
-            if (bucket != null) {
-                return Collections.singletonList(bucket);
-            }
+            return bucket != null ? Stream.of(bucket) : Stream.empty();
         }
 
-        return Collections.emptyList();
+        return listBuckets(
+            client,
+            filters.get("prefix"),
+            filters.containsKey("max-results") ? Long.parseLong(filters.get("max-results")) : DEFAULT_MAX_RESULTS);
+    }
+
+    private Stream<Bucket> listBuckets(Storage client, String prefix, long maxResults) {
+        return PagedIterator.stream(
+            token -> client.buckets()
+                .list(getProjectId())
+                .setPrefix(prefix)
+                .setMaxResults(maxResults)
+                .setPageToken(token)
+                .execute(),
+            Buckets::getNextPageToken,
+            Buckets::getItems);
     }
 }
@@ -330,6 +330,7 @@ public class BucketResource extends GoogleResource implements Copyable<Bucket> {
 
     /**
      * The bucket's IAM Policy. See also `Cloud IAM Permissions <https://cloud.google.com/storage/docs/access-control/using-iam-permissions>`_.
+     * The policy is only read from Google when it is set, and is not populated for buckets returned by queries.
      *
      * @subresource gyro.google.storage.BucketIamPolicy
      */
@@ -449,8 +450,14 @@ public class BucketResource extends GoogleResource implements Copyable<Bucket> {
             return false;
         }
 
+        boolean manageIamPolicy = getIamPolicy() != null;
+
         copyFrom(bucket);
 
+        if (manageIamPolicy) {
+            refreshIamPolicy(storage);
+        }
+
         return true;
     }
 
@@ -494,6 +501,10 @@ public class BucketResource extends GoogleResource implements Copyable<Bucket> {
         }
 
         copyFrom(bucket);
+
+        if (getIamPolicy() != null) {
+            refreshIamPolicy(storage);
+        }
     }
 
     @Override
@@ -584,6 +595,10 @@ public class BucketResource extends GoogleResource implements Copyable<Bucket> {
         }
 
         copyFrom(bucket);
+
+        if (getIamPolicy() != null) {
+            refreshIamPolicy(storage);
+        }
     }
 
     @Override
@@ -620,8 +635,6 @@ public class BucketResource extends GoogleResource implements Copyable<Bucket> {
 
     @Override
     public void copyFrom(Bucket model) throws Exception {
-        Storage storage = createClient(Storage.class);
-
         setId(model.getId());
         setName(model.getName());
         setLabels(model.getLabels());
@@ -689,7 +702,13 @@ public class BucketResource extends GoogleResource implements Copyable<Bucket> {
                 .collect(Collectors.toList())
             );
         }
+    }
 
+    /**
+     * The bucket IAM policy is a separate request, so it is only read for buckets whose configuration manages
+     * ``iam-policy``.
+     */
+    private void refreshIamPolicy(Storage storage) throws Exception {
         setIamPolicy(null);
         Policy iamPolicy = storage.buckets()
             .getIamPolicy(getName())
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Ints;
+import gyro.core.GyroCore;
+import gyro.core.GyroException;
+import gyro.core.GyroUI;
+import gyro.core.Type;
+import gyro.core.resource.Output;
+import gyro.core.resource.Resource;
+import gyro.core.resource.Updatable;
+import gyro.core.scope.State;
+import gyro.core.validation.Min;
+import gyro.core.validation.Required;
+import gyro.core.validation.ValidationError;
+import gyro.google.GoogleCredentials;
+import gyro.google.GoogleResource;
+
+/**
+ * Mirrors a local directory into a bucket.
+ *
+ * Objects are compared with the local files by CRC32C, so applying an unchanged directory only costs the listing of
+ * the bucket prefix. Changed files are uploaded in parallel, large files are uploaded as parallel parts that are
+ * composed into the final object, and objects whose local file was removed are deleted in batches. Deleting the
+ * resource only deletes the objects that match a file in the source directory, so objects under the prefix that were
+ * put there by something else are left alone.
+ *
+ * Example
+ * -------
+ *
+ * .. code-block:: gyro
+ *
+ *     google::bucket 'assets-bucket'
+ *         name: 'assets-example'
+ *         location: 'US-CENTRAL1'
+ *     end
+ *
+ *     google::storage-object-sync 'assets'
+ *         bucket: $(google::bucket assets-bucket)
+ *         source: 'storage/assets/static'
+ *         prefix: 'static'
+ *     end
+ */
+@Type("storage-object-sync")
+public class StorageObjectSyncResource extends GoogleResource {
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private static final int MAX_COMPOSE_SOURCES = 32;
+
+    private static final String PART_SUFFIX = ".gyro-part-";
+
+    private BucketResource bucket;
+    private String source;
+    private String prefix;
+    private Boolean deleteRemoved;
+    private Integer parallelism;
+    private Long compositeThreshold;
+    private String checksum;
+    private Integer objectCount;
+
+    private Storage storage;
+    private SortedMap<String, Path> localFiles;
+    private Map<String, String> localChecksums;
+
+    /**
+     * The bucket to sync the files into.
+     */
+    @Required
+    public BucketResource getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(BucketResource bucket) {
+        this.bucket = bucket;
+    }
+
+    /**
+     * The local directory to mirror, relative to the root of the Gyro project.
+     */
+    @Required
+    @Updatable
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * The object name prefix under which the files are stored. Defaults to the root of the bucket.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * When ``true``, objects under the prefix with no matching local file are deleted. Defaults to ``true``.
+     */
+    @Updatable
+    public Boolean getDeleteRemoved() {
+        if (deleteRemoved == null) {
+            deleteRemoved = true;
+        }
+
+        return deleteRemoved;
+    }
+
+    public void setDeleteRemoved(Boolean deleteRemoved) {
+        this.deleteRemoved = deleteRemoved;
+    }
+
+    /**
+     * The number of concurrent uploads. Defaults to ``16``.
+     */
+    @Min(1)
+    @Updatable
+    public Integer getParallelism() {
+        if (parallelism == null) {
+            parallelism = 16;
+        }
+
+        return parallelism;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Files larger than this size in bytes are uploaded as parallel parts and composed into one object. Defaults to
+     * ``67108864`` (64 MiB).
+     */
+    @Min(1)
+    @Updatable
+    public Long getCompositeThreshold() {
+        if (compositeThreshold == null) {
+            compositeThreshold = 64L * 1024 * 1024;
+        }
+
+        return compositeThreshold;
+    }
+
+    public void setCompositeThreshold(Long compositeThreshold) {
+        this.compositeThreshold = compositeThreshold;
+    }
+
+    /**
+     * Checksum over the names and CRC32C of every synced file, which is how changes to the directory show up in the
+     * diff. It is taken from the bucket listing on refresh and from the local files otherwise, so it should not be set
+     * in the configuration.
+     */
+    @Updatable
+    public String getChecksum() {
+        if (checksum == null && getSource() != null) {
+            checksum = checksum(localChecksums());
+        }
+
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    /**
+     * The number of objects under the prefix.
+     */
+    @Output
+    public Integer getObjectCount() {
+        return objectCount;
+    }
+
+    public void setObjectCount(Integer objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    @Override
+    protected boolean doRefresh() throws Exception {
+        Storage storage = storage();
+
+        if (storage.get(getBucket().getName(), Storage.BucketGetOption.fields(Storage.BucketField.NAME)) == null) {
+            return false;
+        }
+
+        Map<String, Blob> remote = listRemote(storage);
+        setObjectCount(remote.size());
+
+        // Objects that are kept around without a local file don't count as a difference.
+        if (!getDeleteRemoved() && getSource() != null && Files.isDirectory(sourceDirectory())) {
+            remote.keySet().retainAll(localFiles().keySet());
+        }
+
+        setChecksum(checksum(remote.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getCrc32c()))));
+
+        return true;
+    }
+
+    @Override
+    protected void doCreate(GyroUI ui, State state) throws Exception {
+        sync(ui);
+    }
+
+    @Override
+    protected void doUpdate(GyroUI ui, State state, Resource current, Set<String> changedFieldNames)
+        throws Exception {
+        sync(ui);
+    }
+
+    @Override
+    protected void doDelete(GyroUI ui, State state) throws Exception {
+        if (getSource() == null || !Files.isDirectory(sourceDirectory())) {
+            ui.write("\n@|yellow Skipping object deletion because '%s' is not a directory|@", getSource());
+            return;
+        }
+
+        Storage storage = storage();
+        Set<String> local = localFiles().keySet();
+
+        deleteObjects(storage, listRemote(storage).keySet().stream()
+            .filter(local::contains)
+            .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ValidationError> validate(Set<String> configuredFields) {
+        List<ValidationError> errors = new ArrayList<>();
+
+        if (getSource() != null && !Files.isDirectory(sourceDirectory())) {
+            errors.add(new ValidationError(
+                this,
+                "source",
+                String.format("'%s' is not a directory.", getSource())));
+        }
+
+        return errors;
+    }
+
+    private void sync(GyroUI ui) throws Exception {
+        Storage storage = storage();
+        SortedMap<String, Path> local = localFiles();
+        Map<String, String> localChecksums = localChecksums();
+        Map<String, Blob> remote = listRemote(storage);
+
+        List<String> uploads = local.keySet().stream()
+            .filter(name -> !remote.containsKey(name)
+                || !localChecksums.get(name).equals(remote.get(name).getCrc32c()))
+            .collect(Collectors.toList());
+
+        List<String> deletes = getDeleteRemoved()
+            ? remote.keySet().stream().filter(name -> !local.containsKey(name)).collect(Collectors.toList())
+            : new ArrayList<>();
+
+        ui.write("\n@|bold,blue Uploading %d and deleting %d objects|@", uploads.size(), deletes.size());
+
+        uploadObjects(storage, uploads, local, localChecksums);
+        deleteObjects(storage, deletes);
+
+        setChecksum(checksum(localChecksums));
+        setObjectCount(getDeleteRemoved() ? local.size() : (int) Stream.concat(
+            local.keySet().stream(), remote.keySet().stream()).distinct().count());
+    }
+
+    private void uploadObjects(
+        Storage storage,
+        List<String> names,
+        Map<String, Path> local,
+        Map<String, String> localChecksums) throws Exception {
+
+        if (names.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(getParallelism(), names.size()));
+
+        try {
+            List<Future<?>> uploads = new ArrayList<>();
+            Map<String, List<String>> composites = new LinkedHashMap<>();
+
+            for (String name : names) {
+                Path file = local.get(name);
+                long size = Files.size(file);
+
+                if (size > getCompositeThreshold()) {
+                    int partCount = (int) Math.min(
+                        MAX_COMPOSE_SOURCES,
+                        (size + getCompositeThreshold() - 1) / getCompositeThreshold());
+                    long partSize = (size + partCount - 1) / partCount;
+                    List<String> parts = new ArrayList<>();
+
+                    for (int i = 0; i < partCount; i++) {
+                        String part = objectName(name) + PART_SUFFIX + i;
+                        long offset = i * partSize;
+                        long length = Math.min(partSize, size - offset);
+
+                        parts.add(part);
+                        uploads.add(executor.submit(() -> {
+                            uploadPart(storage, part, name, offset, length);
+                            return null;
+                        }));
+                    }
+
+                    composites.put(name, parts);
+
+                } else {
+                    uploads.add(executor.submit(() -> {
+                        try (InputStream input = openInput(sourceFile(name))) {
+                            storage.createFrom(
+                                blobInfo(name, file).setCrc32c(localChecksums.get(name)).build(),
+                                input,
+                                Storage.BlobWriteOption.crc32cMatch());
+                        }
+
+                        return null;
+                    }));
+                }
+            }
+
+            await(uploads);
+
+            List<Future<?>> composes = new ArrayList<>();
+
+            for (Map.Entry<String, List<String>> entry : composites.entrySet()) {
+                String name = entry.getKey();
+
+                composes.add(executor.submit(() -> {
+                    Blob blob = storage.compose(Storage.ComposeRequest.newBuilder()
+                        .addSource(entry.getValue())
+                        .setTarget(blobInfo(name, local.get(name)).build())
+                        .build());
+
+                    if (!localChecksums.get(name).equals(blob.getCrc32c())) {
+                        throw new GyroException(String.format(
+                            "Checksum mismatch after composing %s from %d parts!", name, entry.getValue().size()));
+                    }
+
+                    return null;
+                }));
+            }
+
+            await(composes);
+
+            deleteNames(storage, composites.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList()));
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void uploadPart(Storage storage, String part, String name, long offset, long length) throws IOException {
+        try (InputStream input = openInput(sourceFile(name))) {
+            ByteStreams.skipFully(input, offset);
+            storage.createFrom(
+                BlobInfo.newBuilder(getBucket().getName(), part).build(),
+                ByteStreams.limit(input, length));
+        }
+    }
+
+    private void deleteObjects(Storage storage, List<String> names) {
+        deleteNames(storage, names.stream().map(this::objectName).collect(Collectors.toList()));
+    }
+
+    private void deleteNames(Storage storage, List<String> objectNames) {
+        List<String> failed = new ArrayList<>();
+
+        for (List<String> batch : Lists.partition(objectNames, MAX_BATCH_SIZE)) {
+            List<Boolean> deleted = storage.delete(batch.stream()
+                .map(n -> BlobId.of(getBucket().getName(), n))
+                .collect(Collectors.toList()));
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (!Boolean.TRUE.equals(deleted.get(i))) {
+                    failed.add(batch.get(i));
+                }
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            throw new GyroException(String.format(
+                "Unable to delete %d objects from %s: %s",
+                failed.size(),
+                getBucket().getName(),
+                String.join(", ", failed)));
+        }
+    }
+
+    private void await(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                throw cause instanceof Exception ? (Exception) cause : ex;
+            }
+        }
+    }
+
+    /**
+     * Objects under the prefix keyed by their name relative to the prefix.
+     */
+    private Map<String, Blob> listRemote(Storage storage) {
+        List<Storage.BlobListOption> options = new ArrayList<>();
+        options.add(Storage.BlobListOption.fields(Storage.BlobField.NAME, Storage.BlobField.CRC32C));
+
+        if (getPrefix() != null) {
+            options.add(Storage.BlobListOption.prefix(getPrefix() + '/'));
+        }
+
+        Map<String, Blob> remote = new TreeMap<>();
+
+        for (Blob blob : storage.list(getBucket().getName(), options.toArray(new Storage.BlobListOption[0]))
+            .iterateAll()) {
+            remote.put(relativeName(blob.getName()), blob);
+        }
+
+        return remote;
+    }
+
+    /**
+     * The source directory on disk. Like files read with ``openInput``, it is relative to the project root.
+     */
+    private Path sourceDirectory() {
+        return GyroCore.getRootDirectory().resolve(getSource()).normalize();
+    }
+
+    /**
+     * The project relative path of a file under the source directory, for ``openInput``.
+     */
+    private String sourceFile(String name) {
+        return getSource() + '/' + name;
+    }
+
+    /**
+     * Regular files under the source directory keyed by their path relative to it, using ``/`` as separator. Listed
+     * once and shared by the diff and the sync.
+     */
+    private SortedMap<String, Path> localFiles() {
+        if (localFiles == null) {
+            Path root = sourceDirectory();
+
+            try (Stream<Path> files = Files.walk(root)) {
+                localFiles = files.filter(Files::isRegularFile)
+                    .collect(Collectors.toMap(
+                        p -> root.relativize(p).toString().replace(File.separatorChar, '/'),
+                        p -> p,
+                        (a, b) -> a,
+                        TreeMap::new));
+
+            } catch (IOException ex) {
+                throw new GyroException(String.format("Unable to list files in %s!", getSource()), ex);
+            }
+        }
+
+        return localFiles;
+    }
+
+    /**
+     * CRC32C of every local file keyed like {@link #localFiles()}. Each file is only read once, whether the checksums
+     * are needed for the diff, the sync, or both.
+     */
+    private Map<String, String> localChecksums() {
+        if (localChecksums == null) {
+            localChecksums = localFiles().keySet().parallelStream()
+                .collect(Collectors.toMap(name -> name, this::crc32c));
+        }
+
+        return localChecksums;
+    }
+
+    private String crc32c(String name) {
+        Hasher hasher = Hashing.crc32c().newHasher();
+        byte[] buffer = new byte[64 * 1024];
+
+        try (InputStream input = openInput(sourceFile(name))) {
+            int read;
+
+            while ((read = input.read(buffer)) != -1) {
+                hasher.putBytes(buffer, 0, read);
+            }
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return BaseEncoding.base64().encode(Ints.toByteArray(hasher.hash().asInt()));
+    }
+
+    private static String checksum(Map<String, String> checksums) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        new TreeMap<>(checksums).forEach((name, crc32c) -> hasher
+            .putString(name, StandardCharsets.UTF_8)
+            .putByte((byte) 0)
+            .putString(crc32c != null ? crc32c : "", StandardCharsets.UTF_8)
+            .putByte((byte) 0));
+
+        return hasher.hash().toString();
+    }
+
+    private BlobInfo.Builder blobInfo(String name, Path file) throws IOException {
+        return BlobInfo.newBuilder(getBucket().getName(), objectName(name))
+            .setContentType(Files.probeContentType(file));
+    }
+
+    private String objectName(String name) {
+        return getPrefix() != null ? getPrefix() + '/' + name : name;
+    }
+
+    private String relativeName(String objectName) {
+        return getPrefix() != null ? objectName.substring(getPrefix().length() + 1) : objectName;
+    }
+
+    /**
+     * The storage client, created once and shared by the refresh, the sync and the delete of this resource.
+     */
+    private Storage storage() {
+        if (storage == null) {
+            GoogleCredentials credentials = credentials(GoogleCredentials.class);
+            StorageOptions.Builder builder = StorageOptions.newBuilder()
+                .setProjectId(getProjectId())
+                .setCredentials(credentials.getGoogleCredentials());
+
+            if (credentials.getEndpoint("storage") != null) {
+                builder.setHost(credentials.getEndpoint("storage"));
+            }
+
+            storage = builder.build().getService();
+        }
+
+        return storage;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Iterates over the items of a paginated list API, fetching the next page only once the current one is consumed.
+ *
+ * <p>
+ * e.g.
+ * <pre>
+ * PagedIterator.stream(
+ *     token -&gt; client.buckets().list(projectId).setPageToken(token).execute(),
+ *     Buckets::getNextPageToken,
+ *     Buckets::getItems)
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * {@link IOException}s thrown while fetching a page are rethrown wrapped in an {@link UncheckedIOException}.
+ * </p>
+ */
+public class PagedIterator<P, T> implements Iterator<T> {
+
+    private final PageFetcher<P> fetcher;
+    private final Function<P, String> nextPageToken;
+    private final Function<P, List<T>> items;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private String pageToken;
+    private boolean lastPage;
+
+    public PagedIterator(PageFetcher<P> fetcher, Function<P, String> nextPageToken, Function<P, List<T>> items) {
+        this.fetcher = fetcher;
+        this.nextPageToken = nextPageToken;
+        this.items = items;
+    }
+
+    public static <P, T> Stream<T> stream(
+        PageFetcher<P> fetcher,
+        Function<P, String> nextPageToken,
+        Function<P, List<T>> items) {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                new PagedIterator<>(fetcher, nextPageToken, items),
+                Spliterator.ORDERED | Spliterator.NONNULL),
+            false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !lastPage) {
+            P page;
+
+            try {
+                page = fetcher.fetch(pageToken);
+
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            List<T> pageItems = items.apply(page);
+            current = pageItems != null ? pageItems.iterator() : Collections.emptyIterator();
+            pageToken = nextPageToken.apply(page);
+            lastPage = StringUtils.isEmpty(pageToken);
+        }
+
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    @FunctionalInterface
+    public interface PageFetcher<P> {
+
+        /**
+         * Fetches the page for the token, which is {@code null} for the first page.
+         */
+        P fetch(String pageToken) throws IOException;
+    }
+}
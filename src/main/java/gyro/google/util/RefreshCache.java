@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.util;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short lived, process wide cache for API responses that are shared between many resources during a single Gyro run,
+ * e.g. a listing of every service account in a project used to refresh each service account resource.
+ *
+ * <p>
+ * Entries are loaded at most once per key even when requested concurrently, and expire after a short TTL so that a
+ * long running process never serves stale data. Resources that mutate the cached objects must call
+ * {@link #invalidate(String)} so that later reads go back to the API.
+ * </p>
+ */
+public final class RefreshCache {
+
+    private static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Map<String, Entry<?>> ENTRIES = new ConcurrentHashMap<>();
+
+    private RefreshCache() {
+    }
+
+    /**
+     * Get the cached value for the key, loading it with the given loader when missing or expired.
+     */
+    public static <T> T get(String key, Callable<T> loader) throws Exception {
+        return get(key, DEFAULT_TTL, loader);
+    }
+
+    /**
+     * Get the cached value for the key, loading it with the given loader when missing or older than the ttl.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String key, long ttlMillis, Callable<T> loader) throws Exception {
+        Entry<T> entry = (Entry<T>) ENTRIES.get(key);
+
+        if (entry == null || entry.isExpired(ttlMillis)) {
+            Entry<T> newEntry = new Entry<>(loader);
+
+            if (entry == null ? ENTRIES.putIfAbsent(key, newEntry) == null : ENTRIES.replace(key, entry, newEntry)) {
+                newEntry.task.run();
+            }
+
+            entry = (Entry<T>) ENTRIES.get(key);
+
+            if (entry == null) {
+                return loader.call();
+            }
+        }
+
+        try {
+            return entry.task.get();
+
+        } catch (ExecutionException ex) {
+            ENTRIES.remove(key, entry);
+
+            Throwable cause = ex.getCause();
+            throw cause instanceof Exception ? (Exception) cause : ex;
+        }
+    }
+
+    /**
+     * Get the cached value for the key without loading it, or {@code null} if it's missing, expired or still loading.
+     */
+    public static <T> T peek(String key) {
+        return peek(key, DEFAULT_TTL);
+    }
+
+    /**
+     * Get the cached value for the key without loading it, or {@code null} if it's missing, older than the TTL or
+     * still loading.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T peek(String key, long ttlMillis) {
+        Entry<T> entry = (Entry<T>) ENTRIES.get(key);
+
+        if (entry == null || entry.isExpired(ttlMillis) || !entry.task.isDone()) {
+            return null;
+        }
+
+        try {
+            return entry.task.get();
+
+        } catch (InterruptedException | ExecutionException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Store the value for the key, replacing any existing entry.
+     */
+    public static <T> void put(String key, T value) {
+        Entry<T> entry = new Entry<>(() -> value);
+        entry.task.run();
+        ENTRIES.put(key, entry);
+    }
+
+    /**
+     * Drop the entry for the key.
+     */
+    public static void invalidate(String key) {
+        ENTRIES.remove(key);
+    }
+
+    /**
+     * Drop every entry whose key starts with the prefix.
+     */
+    public static void invalidatePrefix(String prefix) {
+        ENTRIES.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    private static class Entry<T> {
+
+        private final FutureTask<T> task;
+        private final long created = System.currentTimeMillis();
+
+        Entry(Callable<T> loader) {
+            this.task = new FutureTask<>(loader);
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return task.isDone() && System.currentTimeMillis() - created > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the number of requests a {@link FakeApiServer} received against the budgets in
+ * ``gyro/google/api-call-budget.properties``.
+ */
+public final class ApiCallBudget {
+
+    private static final String BUDGET_RESOURCE = "api-call-budget.properties";
+
+    private static final Properties BUDGETS = load();
+
+    private ApiCallBudget() {
+    }
+
+    /**
+     * Fail if the server received more requests since its last {@link FakeApiServer#resetCalls()} than the budget
+     * allows, listing the requests it did receive, and reset the calls for the next operation.
+     */
+    public static void assertWithin(String operation, FakeApiServer server) {
+        String budget = BUDGETS.getProperty(operation);
+
+        assertNotNull(budget, String.format("No budget for %s in %s", operation, BUDGET_RESOURCE));
+
+        int callCount = server.getCallCount();
+
+        assertTrue(
+            callCount <= Integer.parseInt(budget.trim()),
+            String.format(
+                "%s made %d calls, over its budget of %s: %s",
+                operation,
+                callCount,
+                budget,
+                server.getCalls()));
+
+        server.resetCalls();
+    }
+
+    private static Properties load() {
+        Properties budgets = new Properties();
+
+        try (InputStream input = ApiCallBudget.class.getResourceAsStream(BUDGET_RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException(String.format("Missing %s!", BUDGET_RESOURCE));
+            }
+
+            budgets.load(input);
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return budgets;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.google.api.client.googleapis.services.json.AbstractGoogleJsonClient;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.rpc.ClientSettings;
+
+/**
+ * Creates API clients that talk to a {@link FakeApiServer} without credentials, the same way
+ * {@link GoogleCredentials#createClient(Class)} creates them for the real endpoints.
+ *
+ * <p>
+ * Clients that can talk gRPC or HTTP/JSON are created with HTTP/JSON, which makes the same calls as gRPC does.
+ * </p>
+ */
+public final class FakeApiClients {
+
+    private FakeApiClients() {
+    }
+
+    /**
+     * Point the resource at the server, using the project, so that it can be refreshed, created, updated and deleted
+     * without a scope.
+     */
+    public static <R extends GoogleResource> R bind(R resource, FakeApiServer server, String projectId) {
+        GoogleCredentials credentials = new GoogleCredentials() {
+
+            @Override
+            public <T> T createClient(Class<T> clientClass) {
+                return create(clientClass, server);
+            }
+        };
+
+        credentials.setProjectId(projectId);
+        resource.setCredentials(credentials);
+
+        return resource;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T create(Class<T> clientClass, FakeApiServer server) {
+        try {
+            if (AbstractGoogleJsonClient.class.isAssignableFrom(clientClass)) {
+                for (Class<?> declaredClass : clientClass.getDeclaredClasses()) {
+                    if (Modifier.isStatic(declaredClass.getModifiers())
+                        && AbstractGoogleJsonClient.Builder.class.isAssignableFrom(declaredClass)) {
+
+                        AbstractGoogleJsonClient.Builder builder = (AbstractGoogleJsonClient.Builder) declaredClass
+                            .getConstructor(HttpTransport.class, JsonFactory.class, HttpRequestInitializer.class)
+                            .newInstance(new NetHttpTransport(), JacksonFactory.getDefaultInstance(), null);
+
+                        builder.setRootUrl(server.getEndpoint() + '/');
+                        builder.setApplicationName("gyro-google-provider-test");
+
+                        return clientClass.cast(builder.build());
+                    }
+                }
+
+                throw new IllegalArgumentException(String.format("No builder found for %s", clientClass));
+            }
+
+            Class<?> settingsClass = clientClass.getDeclaredField("settings").getType();
+            Method newBuilder;
+
+            try {
+                newBuilder = settingsClass.getDeclaredMethod("newHttpJsonBuilder");
+
+            } catch (NoSuchMethodException ex) {
+                newBuilder = settingsClass.getDeclaredMethod("newBuilder");
+            }
+
+            ClientSettings.Builder<?, ?> builder = (ClientSettings.Builder<?, ?>) newBuilder.invoke(null);
+
+            builder.setEndpoint(server.getEndpoint());
+            builder.setCredentialsProvider(NoCredentialsProvider.create());
+
+            return (T) clientClass.getDeclaredMethod("create", settingsClass).invoke(null, builder.build());
+
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(String.format("Unable to create %s client!", clientClass), ex);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP server that stands in for a Google REST API and counts every request it receives.
+ *
+ * <p>
+ * Requests are dispatched to the first route whose method and path template match, and are counted by method and
+ * template, e.g. ``GET /compute/v1/projects/{project}/global/networks/{network}``. Point a client at
+ * {@link #getEndpoint()}, either with the ``endpoints`` of ``google::credentials`` or with {@link FakeApiClients}.
+ * </p>
+ */
+public class FakeApiServer implements AutoCloseable {
+
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\{([^}=]+)(=\\*\\*)?}");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    public FakeApiServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * The root URL of the server, e.g. ``http://localhost:41234``.
+     */
+    public String getEndpoint() {
+        return String.format("http://localhost:%d", server.getAddress().getPort());
+    }
+
+    /**
+     * Route the requests matching the method and path template to the handler. ``{name}`` in the template matches a
+     * single path segment and ``{name=**}`` matches the rest of the path.
+     */
+    public void route(String method, String template, Handler handler) {
+        routes.add(new Route(method, template, handler));
+    }
+
+    /**
+     * The number of requests received since the last {@link #resetCalls()}.
+     */
+    public int getCallCount() {
+        return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * The number of requests received since the last {@link #resetCalls()}, by method and path template.
+     */
+    public Map<String, Integer> getCalls() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        calls.forEach((key, count) -> snapshot.put(key, count.get()));
+
+        return snapshot;
+    }
+
+    public void resetCalls() {
+        calls.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+
+        try {
+            // PATCH isn't supported by HttpURLConnection, so the client libraries tunnel it through POST.
+            String method = exchange.getRequestHeaders().getFirst("X-HTTP-Method-Override");
+
+            if (method == null) {
+                method = exchange.getRequestMethod();
+            }
+
+            URI uri = exchange.getRequestURI();
+            String path = uri.getPath();
+            response = null;
+
+            for (Route route : routes) {
+                Map<String, String> parameters = route.match(method, path);
+
+                if (parameters != null) {
+                    count(method + ' ' + route.template);
+                    response = route.handler.handle(new Request(
+                        method,
+                        path,
+                        parameters,
+                        query(uri.getRawQuery()),
+                        body(exchange.getRequestBody())));
+                    break;
+                }
+            }
+
+            if (response == null) {
+                count(method + ' ' + path);
+                response = Response.error(404, String.format("No route for %s %s", method, path));
+            }
+
+        } catch (Exception ex) {
+            response = Response.error(500, String.valueOf(ex));
+        }
+
+        byte[] content = response.body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(response.status, content.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(content);
+        }
+    }
+
+    private void count(String key) {
+        calls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static Map<String, String> query(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> query = new HashMap<>();
+
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int equals = pair.indexOf('=');
+
+                if (equals > 0) {
+                    query.put(
+                        URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+                        URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+                }
+            }
+        }
+
+        return query;
+    }
+
+    private static JsonObject body(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+
+        while ((read = input.read(buffer)) > 0) {
+            bytes.write(buffer, 0, read);
+        }
+
+        String body = new String(bytes.toByteArray(), StandardCharsets.UTF_8).trim();
+
+        return body.startsWith("{") ? JsonParser.parseString(body).getAsJsonObject() : new JsonObject();
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+
+        Response handle(Request request) throws Exception;
+    }
+
+    public static class Request {
+
+        private final String method;
+        private final String path;
+        private final Map<String, String> parameters;
+        private final Map<String, String> query;
+        private final JsonObject body;
+
+        Request(
+            String method,
+            String path,
+            Map<String, String> parameters,
+            Map<String, String> query,
+            JsonObject body) {
+
+            this.method = method;
+            this.path = path;
+            this.parameters = parameters;
+            this.query = query;
+            this.body = body;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * The value of the path template parameter.
+         */
+        public String getParameter(String name) {
+            return parameters.get(name);
+        }
+
+        /**
+         * The value of the query string parameter, or {@code null} if it isn't set.
+         */
+        public String getQuery(String name) {
+            return query.get(name);
+        }
+
+        /**
+         * The JSON request body, empty if the request has none.
+         */
+        public JsonObject getBody() {
+            return body;
+        }
+    }
+
+    public static class Response {
+
+        private final int status;
+        private final JsonElement body;
+
+        private Response(int status, JsonElement body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public static Response ok(JsonElement body) {
+            return new Response(200, body);
+        }
+
+        /**
+         * An error in the format the Google API clients parse, e.g. into a ``NotFoundException`` for a 404.
+         */
+        public static Response error(int status, String message) {
+            JsonObject item = new JsonObject();
+            item.addProperty("message", message);
+            item.addProperty("domain", "global");
+            item.addProperty("reason", status == 404 ? "notFound" : status == 409 ? "alreadyExists" : "backendError");
+
+            JsonArray items = new JsonArray();
+            items.add(item);
+
+            JsonObject error = new JsonObject();
+            error.addProperty("code", status);
+            error.addProperty("message", message);
+            error.add("errors", items);
+
+            JsonObject body = new JsonObject();
+            body.add("error", error);
+
+            return new Response(status, body);
+        }
+    }
+
+    private static class Route {
+
+        private final String method;
+        private final String template;
+        private final Pattern pattern;
+        private final List<String> names = new ArrayList<>();
+        private final Handler handler;
+
+        Route(String method, String template, Handler handler) {
+            this.method = method;
+            this.template = template;
+            this.handler = handler;
+
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = PARAMETER_PATTERN.matcher(template);
+            int last = 0;
+
+            while (matcher.find()) {
+                regex.append(Pattern.quote(template.substring(last, matcher.start())));
+                regex.append(matcher.group(2) != null ? "(.+)" : "([^/]+)");
+                names.add(matcher.group(1));
+                last = matcher.end();
+            }
+
+            regex.append(Pattern.quote(template.substring(last)));
+            pattern = Pattern.compile(regex.toString());
+        }
+
+        Map<String, String> match(String requestMethod, String path) {
+            if (!method.equals(requestMethod)) {
+                return null;
+            }
+
+            Matcher matcher = pattern.matcher(path);
+
+            if (!matcher.matches()) {
+                return null;
+            }
+
+            Map<String, String> parameters = new HashMap<>();
+
+            for (int i = 0; i < names.size(); i++) {
+                parameters.put(names.get(i), matcher.group(i + 1));
+            }
+
+            return parameters;
+        }
+    }
+}
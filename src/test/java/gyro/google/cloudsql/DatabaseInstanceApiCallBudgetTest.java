@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.cloudsql;
+
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import gyro.google.FakeApiServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseInstanceApiCallBudgetTest {
+
+    private static final String PROJECT = "budget-test";
+
+    private static FakeApiServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeApiServer();
+
+        server.route("GET", "/v1/projects/{project}/instances/{instance}", request -> {
+            String name = request.getParameter("instance");
+
+            if (!name.startsWith("existing")) {
+                return FakeApiServer.Response.error(404, "The Cloud SQL instance does not exist.");
+            }
+
+            JsonObject instance = new JsonObject();
+            instance.addProperty("kind", "sql#instance");
+            instance.addProperty("name", name);
+            instance.addProperty("databaseVersion", "POSTGRES_15");
+            instance.addProperty("region", "us-central1");
+            instance.addProperty("state", "RUNNABLE");
+
+            return FakeApiServer.Response.ok(instance);
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.resetCalls();
+    }
+
+    @Test
+    public void refresh() throws Exception {
+        DatabaseInstanceResource instance = instance("existing");
+
+        assertTrue(instance.doRefresh());
+        assertEquals("RUNNABLE", instance.getState());
+        ApiCallBudget.assertWithin("sql-instance.refresh", server);
+    }
+
+    private static DatabaseInstanceResource instance(String name) {
+        DatabaseInstanceResource instance = FakeApiClients.bind(new DatabaseInstanceResource(), server, PROJECT);
+        instance.setName(name);
+
+        return instance;
+    }
+}
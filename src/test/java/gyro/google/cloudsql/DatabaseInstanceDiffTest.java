@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.cloudsql;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.api.services.sqladmin.model.AclEntry;
+import com.google.api.services.sqladmin.model.DatabaseFlags;
+import com.google.api.services.sqladmin.model.DatabaseInstance;
+import com.google.api.services.sqladmin.model.IpConfiguration;
+import com.google.api.services.sqladmin.model.Settings;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseInstanceDiffTest {
+
+    @Test
+    public void noChange() {
+        DatabaseInstance patch = DatabaseInstanceResource.diff(instance(settings()), instance(settings()));
+
+        assertTrue(patch.isEmpty(), patch::toString);
+    }
+
+    @Test
+    public void editionOnly() {
+        DatabaseInstance patch = DatabaseInstanceResource.diff(
+            instance(settings()),
+            instance(settings().setEdition("ENTERPRISE_PLUS")));
+
+        assertEquals(Collections.singleton("settings"), patch.keySet());
+        assertEquals(
+            new Settings().setEdition("ENTERPRISE_PLUS").setSettingsVersion(7L),
+            patch.getSettings());
+    }
+
+    @Test
+    public void nestedSetting() {
+        Settings desired = settings();
+        desired.getIpConfiguration().setIpv4Enabled(false);
+
+        DatabaseInstance patch = DatabaseInstanceResource.diff(instance(settings()), instance(desired));
+        Settings settings = patch.getSettings();
+
+        assertNotNull(settings);
+        assertEquals(Arrays.asList("ipConfiguration", "settingsVersion"), sortedKeys(settings));
+        assertEquals(desired.getIpConfiguration(), settings.getIpConfiguration());
+    }
+
+    @Test
+    public void listReplacement() {
+        Settings desired = settings().setDatabaseFlags(Collections.singletonList(
+            new DatabaseFlags().setName("max_connections").setValue("200")));
+
+        DatabaseInstance patch = DatabaseInstanceResource.diff(instance(settings()), instance(desired));
+
+        assertEquals(Arrays.asList("databaseFlags", "settingsVersion"), sortedKeys(patch.getSettings()));
+        assertEquals(desired.getDatabaseFlags(), patch.getSettings().getDatabaseFlags());
+    }
+
+    @Test
+    public void listRemoval() {
+        DatabaseInstance patch = DatabaseInstanceResource.diff(
+            instance(settings()),
+            instance(settings().setDatabaseFlags(null)));
+
+        assertEquals(Arrays.asList("databaseFlags", "settingsVersion"), sortedKeys(patch.getSettings()));
+        assertEquals(Collections.emptyList(), patch.getSettings().getDatabaseFlags());
+    }
+
+    @Test
+    public void topLevelChange() {
+        DatabaseInstance desired = instance(settings()).setRootPassword("secret");
+        DatabaseInstance patch = DatabaseInstanceResource.diff(instance(settings()), desired);
+
+        assertEquals(Collections.singletonList("rootPassword"), sortedKeys(patch));
+        assertNull(patch.getSettings());
+    }
+
+    private static DatabaseInstance instance(Settings settings) {
+        return new DatabaseInstance()
+            .setName("diff-test")
+            .setDatabaseVersion("POSTGRES_15")
+            .setRegion("us-central1")
+            .setSettings(settings);
+    }
+
+    private static Settings settings() {
+        return new Settings()
+            .setEdition("ENTERPRISE")
+            .setTier("db-custom-2-7680")
+            .setSettingsVersion(7L)
+            .setIpConfiguration(new IpConfiguration()
+                .setIpv4Enabled(true)
+                .setAuthorizedNetworks(Collections.singletonList(
+                    new AclEntry().setName("office").setValue("203.0.113.0/24"))))
+            .setDatabaseFlags(Collections.singletonList(
+                new DatabaseFlags().setName("max_connections").setValue("100")));
+    }
+
+    private static List<String> sortedKeys(Map<String, Object> data) {
+        return data.keySet().stream().sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.compute;
+
+import java.util.Collections;
+
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComputeApiCallBudgetTest {
+
+    private static final String PROJECT = "budget-test";
+
+    private static FakeComputeServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeComputeServer();
+
+        server.seed(PROJECT, "global", "networks", 1, i -> {
+            JsonObject network = new JsonObject();
+            network.addProperty("name", "existing");
+            network.addProperty("autoCreateSubnetworks", false);
+
+            return network;
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.resetCalls();
+    }
+
+    @Test
+    public void networkRefresh() throws Exception {
+        assertTrue(network("existing").doRefresh());
+        ApiCallBudget.assertWithin("compute-network.refresh", server);
+    }
+
+    @Test
+    public void networkLifecycle() throws Exception {
+        NetworkResource network = network("lifecycle");
+        network.setRoutingMode("REGIONAL");
+        network.doCreate(null, null);
+        ApiCallBudget.assertWithin("compute-network.create", server);
+
+        NetworkResource current = network("lifecycle");
+        network.setRoutingMode("GLOBAL");
+        network.doUpdate(null, null, current, Collections.singleton("routing-mode"));
+        ApiCallBudget.assertWithin("compute-network.update.routing-mode", server);
+
+        network.doDelete(null, null);
+        ApiCallBudget.assertWithin("compute-network.delete", server);
+        assertNull(server.get(PROJECT, "global", "networks", "lifecycle"));
+    }
+
+    private static NetworkResource network(String name) {
+        NetworkResource network = FakeApiClients.bind(new NetworkResource(), server, PROJECT);
+
+        network.setName(name);
+
+        return network;
+    }
+}
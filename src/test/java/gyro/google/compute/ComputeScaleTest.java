@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.compute;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+
+import com.google.cloud.compute.v1.Instance;
+import com.google.cloud.compute.v1.InstancesClient;
+import com.google.gson.JsonObject;
+import com.sun.management.ThreadMXBean;
+import gyro.google.FakeApiClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the compute finders, operation waits and refreshes against a simulated project with 10,000 instances, logging
+ * the call count, wall clock and allocation of each. Run with ``./gradlew scaleTest``.
+ */
+@Tag("scale")
+public class ComputeScaleTest {
+
+    private static final Logger LOGGER = Logger.getLogger(ComputeScaleTest.class.getName());
+
+    private static final String PROJECT = "scale-test";
+
+    private static final String[] ZONES = { "us-central1-a", "us-central1-b", "us-central1-c", "us-central1-f" };
+
+    private static final int INSTANCE_COUNT = 10_000;
+
+    private static final int NETWORK_COUNT = 1_000;
+
+    private static final int PAGE_SIZE = 500;
+
+    private static FakeComputeServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeComputeServer();
+
+        for (String zone : ZONES) {
+            server.seed(PROJECT, "zones/" + zone, "instances", INSTANCE_COUNT / ZONES.length, i -> {
+                JsonObject instance = new JsonObject();
+                instance.addProperty("name", String.format("instance-%s-%05d", zone, i));
+                instance.addProperty("machineType", String.format("zones/%s/machineTypes/n2-standard-4", zone));
+                instance.addProperty("status", "RUNNING");
+
+                return instance;
+            });
+        }
+
+        server.seed(PROJECT, "global", "networks", NETWORK_COUNT, i -> {
+            JsonObject network = new JsonObject();
+            network.addProperty("name", String.format("network-%04d", i));
+            network.addProperty("autoCreateSubnetworks", false);
+
+            return network;
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.resetCalls();
+        server.setOperationLatencyMillis(0);
+    }
+
+    @Test
+    public void instanceFinder() throws Exception {
+        InstanceFinder finder = new InstanceFinder() {
+
+            @Override
+            public String getProjectId() {
+                return PROJECT;
+            }
+        };
+
+        List<Instance> instances = measure(
+            "InstanceFinder.findAllGoogle",
+            () -> finder.findAllGoogle(FakeApiClients.create(InstancesClient.class, server)));
+
+        assertEquals(INSTANCE_COUNT, instances.size());
+        assertEquals(INSTANCE_COUNT / PAGE_SIZE, server.getCallCount());
+    }
+
+    @Test
+    public void waitForCompletion() throws Exception {
+        int count = 100;
+
+        measure("NetworkResource.doCreate", () -> {
+            for (int i = 0; i < count; i++) {
+                NetworkResource network = network(String.format("created-%03d", i));
+                network.setRoutingMode("REGIONAL");
+                network.doCreate(null, null);
+            }
+
+            return null;
+        });
+
+        // Insert, one poll of the operation that is already done and the refresh that follows.
+        assertEquals(count * 3, server.getCallCount());
+    }
+
+    @Test
+    public void waitForCompletionWithLatency() throws Exception {
+        int count = 3;
+        server.setOperationLatencyMillis(1_000);
+
+        measure("NetworkResource.doDelete with 1s operations", () -> {
+            for (int i = 0; i < count; i++) {
+                network(String.format("network-%04d", i)).doDelete(null, null);
+            }
+
+            return null;
+        });
+
+        assertTrue(server.getCallCount() >= count * 3, "Every running operation should be polled more than once");
+    }
+
+    @Test
+    public void bulkRefresh() throws Exception {
+        List<NetworkResource> networks = new ArrayList<>();
+
+        for (int i = 0; i < NETWORK_COUNT; i++) {
+            networks.add(network(String.format("network-%04d", i)));
+        }
+
+        measure("NetworkResource.doRefresh", () -> {
+            for (NetworkResource network : networks) {
+                network.doRefresh();
+            }
+
+            return null;
+        });
+
+        assertEquals(NETWORK_COUNT, server.getCallCount());
+    }
+
+    private static NetworkResource network(String name) {
+        NetworkResource network = FakeApiClients.bind(new NetworkResource(), server, PROJECT);
+
+        network.setName(name);
+
+        return network;
+    }
+
+    private static <T> T measure(String name, Callable<T> task) throws Exception {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        T result = task.call();
+
+        long elapsed = System.nanoTime() - start;
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+
+        StringBuilder report = new StringBuilder(String.format(
+            "%s: %d calls, %d ms, %d KiB allocated, %d KiB heap used",
+            name,
+            server.getCallCount(),
+            elapsed / 1_000_000,
+            allocated / 1024,
+            ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1024));
+
+        server.getCalls().forEach((call, count) -> report.append(String.format("%n    %6d %s", count, call)));
+        LOGGER.info(report::toString);
+
+        return result;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.compute;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import gyro.google.FakeApiServer;
+
+/**
+ * Stateful stand-in for the parts of the Compute Engine v1 REST API used by ``gyro.google.compute``: instances and
+ * disks in zones, subnetworks and addresses in regions, and networks, firewalls and global addresses.
+ *
+ * <p>
+ * Inserts, patches, deletes and instance actions change the stored resources right away and return an operation that
+ * stays ``RUNNING`` for the configured operation latency, so waiting on it costs as many polls as it would against
+ * GCP. Lists page by ``maxResults`` and ``pageToken`` but ignore ``filter``. Use {@link #seed} to fill a project with
+ * thousands of resources without going through the API.
+ * </p>
+ */
+public class FakeComputeServer extends FakeApiServer {
+
+    private static final String API = "/compute/v1/";
+
+    private static final String SELF_LINK_PREFIX = "https://www.googleapis.com/compute/v1/";
+
+    private static final int DEFAULT_MAX_RESULTS = 500;
+
+    private static final String[] ZONAL_COLLECTIONS = { "instances", "disks" };
+
+    private static final String[] REGIONAL_COLLECTIONS = { "subnetworks", "addresses" };
+
+    private static final String[] GLOBAL_COLLECTIONS = { "networks", "firewalls", "addresses" };
+
+    private final NavigableMap<String, JsonObject> resources = new ConcurrentSkipListMap<>();
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong(1_000_000L);
+    private volatile long operationLatencyMillis;
+
+    public FakeComputeServer() throws IOException {
+        for (String scope : new String[] { "zones/{zone}", "regions/{region}", "global" }) {
+            route("GET", API + "projects/{project}/" + scope + "/operations/{operation}", this::getOperation);
+        }
+
+        for (String collection : ZONAL_COLLECTIONS) {
+            collection("projects/{project}/zones/{zone}/" + collection);
+        }
+
+        for (String collection : REGIONAL_COLLECTIONS) {
+            collection("projects/{project}/regions/{region}/" + collection);
+        }
+
+        for (String collection : GLOBAL_COLLECTIONS) {
+            collection("projects/{project}/global/" + collection);
+        }
+
+        route("GET", API + "projects/{project}/aggregated/{collection}", this::aggregatedList);
+    }
+
+    /**
+     * How long operations stay ``RUNNING`` after they're created. Defaults to {@code 0}, which completes them right
+     * away.
+     */
+    public void setOperationLatencyMillis(long operationLatencyMillis) {
+        this.operationLatencyMillis = operationLatencyMillis;
+    }
+
+    /**
+     * Store {@code count} resources created by the factory in the collection, e.g. ``zones/us-central1-a`` and
+     * ``instances``, without counting any calls.
+     */
+    public void seed(String project, String scope, String collection, int count, IntFunction<JsonObject> factory) {
+        String prefix = String.format("projects/%s/%s/%s/", project, scope, collection);
+
+        for (int i = 0; i < count; i++) {
+            JsonObject resource = factory.apply(i);
+            store(prefix, scope, resource);
+        }
+    }
+
+    /**
+     * The stored resource, or {@code null} if it doesn't exist.
+     */
+    public JsonObject get(String project, String scope, String collection, String name) {
+        return resources.get(String.format("projects/%s/%s/%s/%s", project, scope, collection, name));
+    }
+
+    private void collection(String template) {
+        route("GET", API + template, this::list);
+        route("POST", API + template, this::insert);
+        route("GET", API + template + "/{name}", this::get);
+        route("PATCH", API + template + "/{name}", this::patch);
+        route("DELETE", API + template + "/{name}", this::delete);
+        route("POST", API + template + "/{name}/{action}", this::action);
+    }
+
+    private Response list(Request request) {
+        String prefix = request.getPath().substring(API.length()) + '/';
+        int maxResults = maxResults(request);
+        String pageToken = request.getQuery("pageToken");
+        String start = pageToken != null ? prefix + pageToken : prefix;
+        JsonArray items = new JsonArray();
+        String nextPageToken = null;
+
+        for (Map.Entry<String, JsonObject> entry : resources.tailMap(start, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || entry.getKey().indexOf('/', prefix.length()) >= 0) {
+                break;
+            }
+
+            if (items.size() == maxResults) {
+                nextPageToken = entry.getKey().substring(prefix.length());
+                break;
+            }
+
+            items.add(entry.getValue());
+        }
+
+        JsonObject response = new JsonObject();
+        response.add("items", items);
+
+        if (nextPageToken != null) {
+            // The token is the first name of the next page, so the page starts at and includes it.
+            response.addProperty("nextPageToken", nextPageToken);
+        }
+
+        return Response.ok(response);
+    }
+
+    private Response aggregatedList(Request request) {
+        String project = request.getParameter("project");
+        String collection = request.getParameter("collection");
+        String prefix = String.format("projects/%s/", project);
+        int maxResults = maxResults(request);
+        String pageToken = request.getQuery("pageToken");
+        JsonObject items = new JsonObject();
+        String nextPageToken = null;
+        int count = 0;
+
+        for (Map.Entry<String, JsonObject> entry : resources.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+
+            String[] parts = entry.getKey().substring(prefix.length()).split("/");
+
+            if (parts.length != 4 || !parts[2].equals(collection)) {
+                continue;
+            }
+
+            if (pageToken != null && entry.getKey().compareTo(pageToken) < 0) {
+                continue;
+            }
+
+            if (count == maxResults) {
+                nextPageToken = entry.getKey();
+                break;
+            }
+
+            String scope = parts[0] + '/' + parts[1];
+            JsonObject scoped = items.getAsJsonObject(scope);
+
+            if (scoped == null) {
+                scoped = new JsonObject();
+                scoped.add(collection, new JsonArray());
+                items.add(scope, scoped);
+            }
+
+            scoped.getAsJsonArray(collection).add(entry.getValue());
+            count++;
+        }
+
+        JsonObject response = new JsonObject();
+        response.add("items", items);
+
+        if (nextPageToken != null) {
+            response.addProperty("nextPageToken", nextPageToken);
+        }
+
+        return Response.ok(response);
+    }
+
+    private Response get(Request request) {
+        JsonObject resource = resources.get(request.getPath().substring(API.length()));
+
+        return resource != null ? Response.ok(resource) : notFound(request);
+    }
+
+    private Response insert(Request request) {
+        String collectionPath = request.getPath().substring(API.length());
+        JsonObject resource = request.getBody().deepCopy();
+
+        if (!resource.has("name")) {
+            return Response.error(400, "Required field 'resource.name' not specified");
+        }
+
+        String key = collectionPath + '/' + resource.get("name").getAsString();
+
+        if (resources.containsKey(key)) {
+            return Response.error(409, String.format("The resource '%s' already exists", key));
+        }
+
+        store(collectionPath + '/', scope(collectionPath), resource);
+
+        return operation(request, "insert", key);
+    }
+
+    private Response patch(Request request) {
+        String key = request.getPath().substring(API.length());
+        JsonObject resource = resources.get(key);
+
+        if (resource == null) {
+            return notFound(request);
+        }
+
+        JsonObject patched = resource.deepCopy();
+
+        for (Map.Entry<String, JsonElement> field : request.getBody().entrySet()) {
+            patched.add(field.getKey(), field.getValue());
+        }
+
+        resources.put(key, patched);
+
+        return operation(request, "patch", key);
+    }
+
+    private Response delete(Request request) {
+        String key = request.getPath().substring(API.length());
+
+        if (resources.remove(key) == null) {
+            return notFound(request);
+        }
+
+        return operation(request, "delete", key);
+    }
+
+    private Response action(Request request) {
+        String path = request.getPath().substring(API.length());
+        String key = path.substring(0, path.lastIndexOf('/'));
+
+        if (!resources.containsKey(key)) {
+            return notFound(request);
+        }
+
+        return operation(request, request.getParameter("action"), key);
+    }
+
+    private Response getOperation(Request request) {
+        Operation operation = operations.get(request.getParameter("operation"));
+
+        return operation != null ? Response.ok(operation.toJson()) : notFound(request);
+    }
+
+    private Response operation(Request request, String type, String targetKey) {
+        String name = String.format("operation-%d", ids.incrementAndGet());
+        String scope = scope(targetKey);
+        Operation operation = new Operation(
+            name,
+            type,
+            SELF_LINK_PREFIX + targetKey,
+            scope.startsWith("zones/") || scope.startsWith("regions/")
+                ? String.format("%sprojects/%s/%s", SELF_LINK_PREFIX, request.getParameter("project"), scope)
+                : null,
+            System.currentTimeMillis() + operationLatencyMillis);
+
+        operations.put(name, operation);
+
+        return Response.ok(operation.toJson());
+    }
+
+    private void store(String prefix, String scope, JsonObject resource) {
+        String key = prefix + resource.get("name").getAsString();
+        String projectPrefix = key.substring(0, key.indexOf('/', "projects/".length()) + 1);
+
+        resource.addProperty("id", String.valueOf(ids.incrementAndGet()));
+        resource.addProperty("selfLink", SELF_LINK_PREFIX + key);
+        resource.addProperty("creationTimestamp", "2026-01-01T00:00:00.000-00:00");
+
+        if (scope.startsWith("zones/")) {
+            resource.addProperty("zone", SELF_LINK_PREFIX + projectPrefix + scope);
+
+        } else if (scope.startsWith("regions/")) {
+            resource.addProperty("region", SELF_LINK_PREFIX + projectPrefix + scope);
+        }
+
+        resources.put(key, resource);
+    }
+
+    private static int maxResults(Request request) {
+        String maxResults = request.getQuery("maxResults");
+
+        return maxResults != null ? Integer.parseInt(maxResults) : DEFAULT_MAX_RESULTS;
+    }
+
+    /**
+     * The scope of a key, e.g. ``zones/us-central1-a`` for ``projects/p/zones/us-central1-a/instances/i``.
+     */
+    private static String scope(String key) {
+        String[] parts = key.split("/");
+
+        return "global".equals(parts[2]) ? "global" : parts[2] + '/' + parts[3];
+    }
+
+    private static Response notFound(Request request) {
+        return Response.error(404, String.format("The resource '%s' was not found", request.getPath()));
+    }
+
+    private static class Operation {
+
+        private final String name;
+        private final String type;
+        private final String targetLink;
+        private final String scopeLink;
+        private final long doneAt;
+
+        Operation(String name, String type, String targetLink, String scopeLink, long doneAt) {
+            this.name = name;
+            this.type = type;
+            this.targetLink = targetLink;
+            this.scopeLink = scopeLink;
+            this.doneAt = doneAt;
+        }
+
+        JsonObject toJson() {
+            boolean done = System.currentTimeMillis() >= doneAt;
+            JsonObject json = new JsonObject();
+            json.addProperty("kind", "compute#operation");
+            json.addProperty("name", name);
+            json.addProperty("operationType", type);
+            json.addProperty("targetLink", targetLink);
+            json.addProperty("status", done ? "DONE" : "RUNNING");
+            json.addProperty("progress", done ? 100 : 0);
+
+            if (scopeLink != null) {
+                json.addProperty(scopeLink.contains("/zones/") ? "zone" : "region", scopeLink);
+            }
+
+            return json;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.util.Collections;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import gyro.google.FakeApiServer;
+import gyro.google.util.RefreshCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceRecordSetApiCallBudgetTest {
+
+    private static final String PROJECT = "budget-test";
+
+    private static final String ZONE = "budget-zone";
+
+    private static final int RECORD_SET_COUNT = 10;
+
+    private static FakeApiServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeApiServer();
+
+        server.route("GET", "/dns/v1/projects/{project}/managedZones/{zone}/rrsets", request -> {
+            String name = request.getQuery("name");
+            JsonArray rrsets = new JsonArray();
+
+            for (int i = 0; i < RECORD_SET_COUNT; i++) {
+                if (name == null || name.equals(recordSetName(i))) {
+                    rrsets.add(recordSetJson(recordSetName(i)));
+                }
+            }
+
+            JsonObject response = new JsonObject();
+            response.add("rrsets", rrsets);
+
+            return FakeApiServer.Response.ok(response);
+        });
+
+        server.route("POST", "/dns/v1/projects/{project}/managedZones/{zone}/changes", request -> {
+            JsonObject change = request.getBody().deepCopy();
+            change.addProperty("id", "1");
+            change.addProperty("status", "done");
+
+            return FakeApiServer.Response.ok(change);
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void reset() {
+        RefreshCache.invalidatePrefix("");
+        server.resetCalls();
+    }
+
+    @Test
+    public void refresh() throws Exception {
+        assertTrue(recordSet(0).doRefresh());
+        ApiCallBudget.assertWithin("dns-record-set.refresh", server);
+    }
+
+    @Test
+    public void refreshMany() throws Exception {
+        for (int i = 0; i < RECORD_SET_COUNT; i++) {
+            ResourceRecordSetResource recordSet = recordSet(i);
+
+            assertTrue(recordSet.doRefresh());
+            assertEquals(Collections.singletonList("10.0.0.1"), recordSet.getRrdatas());
+        }
+
+        ApiCallBudget.assertWithin("dns-record-set.refresh.10", server);
+    }
+
+    @Test
+    public void lifecycle() throws Exception {
+        ResourceRecordSetResource recordSet = recordSet(0);
+        recordSet.doCreate(null, null);
+        ApiCallBudget.assertWithin("dns-record-set.create", server);
+
+        recordSet.doDelete(null, null);
+        ApiCallBudget.assertWithin("dns-record-set.delete", server);
+    }
+
+    private static String recordSetName(int index) {
+        return String.format("record-%02d.example.com.", index);
+    }
+
+    private static JsonObject recordSetJson(String name) {
+        JsonArray rrdatas = new JsonArray();
+        rrdatas.add("10.0.0.1");
+
+        JsonObject recordSet = new JsonObject();
+        recordSet.addProperty("kind", "dns#resourceRecordSet");
+        recordSet.addProperty("name", name);
+        recordSet.addProperty("type", "A");
+        recordSet.addProperty("ttl", 300);
+        recordSet.add("rrdatas", rrdatas);
+
+        return recordSet;
+    }
+
+    private static ResourceRecordSetResource recordSet(int index) {
+        ManagedZoneResource managedZone = FakeApiClients.bind(new ManagedZoneResource(), server, PROJECT);
+        managedZone.setName(ZONE);
+
+        ResourceRecordSetResource recordSet = FakeApiClients.bind(new ResourceRecordSetResource(), server, PROJECT);
+        recordSet.setManagedZone(managedZone);
+        recordSet.setName(recordSetName(index));
+        recordSet.setType("A");
+        recordSet.setTtl(300);
+        recordSet.setRrdatas(Collections.singletonList("10.0.0.1"));
+
+        return recordSet;
+    }
+}
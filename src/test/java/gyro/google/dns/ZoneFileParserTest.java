@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.dns;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.api.services.dns.model.ResourceRecordSet;
+import gyro.core.GyroException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZoneFileParserTest {
+
+    @Test
+    public void originAndTtlDirectives() {
+        Map<String, ResourceRecordSet> recordSets = parse(
+            "$TTL 1h\n"
+                + "www A 10.0.0.1\n"
+                + "$ORIGIN sub.example.com.\n"
+                + "api 60 A 10.0.0.2\n"
+                + "@ A 10.0.0.3\n");
+
+        assertRecordSet(recordSets, "www.example.com.", "A", 3600, "10.0.0.1");
+        assertRecordSet(recordSets, "api.sub.example.com.", "A", 60, "10.0.0.2");
+        assertRecordSet(recordSets, "sub.example.com.", "A", 3600, "10.0.0.3");
+    }
+
+    @Test
+    public void parenthesesSpanLines() {
+        Map<String, ResourceRecordSet> recordSets = parse(
+            "@ IN SOA ns1.example.com. hostmaster.example.com. (\n"
+                + "    2026010101 ; serial\n"
+                + "    7200       ; refresh\n"
+                + "    3600 1209600 300 )\n"
+                + "www A 10.0.0.1\n");
+
+        assertRecordSet(
+            recordSets,
+            "example.com.",
+            "SOA",
+            300,
+            "ns1.example.com. hostmaster.example.com. 2026010101 7200 3600 1209600 300");
+
+        assertRecordSet(recordSets, "www.example.com.", "A", 300, "10.0.0.1");
+    }
+
+    @Test
+    public void omittedOwnersAndInheritedTtls() {
+        Map<String, ResourceRecordSet> recordSets = parse(
+            "mail 120 IN A 10.0.0.3\n"
+                + "     A 10.0.0.4\n"
+                + "     AAAA ::1\n"
+                + "low 300 A 10.0.0.5\n"
+                + "low 100 A 10.0.0.6\n");
+
+        assertRecordSet(recordSets, "mail.example.com.", "A", 120, "10.0.0.3", "10.0.0.4");
+        assertRecordSet(recordSets, "mail.example.com.", "AAAA", 120, "::1");
+        assertRecordSet(recordSets, "low.example.com.", "A", 100, "10.0.0.5", "10.0.0.6");
+    }
+
+    @Test
+    public void ttlUnits() {
+        assertEquals(5400, parse("$TTL 1h30m\nwww A 10.0.0.1\n").get(key("www", "A")).getTtl().intValue());
+        assertEquals(93600, parse("$TTL 1d2h\nwww A 10.0.0.1\n").get(key("www", "A")).getTtl().intValue());
+        assertEquals(604800, parse("www 1W A 10.0.0.1\n").get(key("www", "A")).getTtl().intValue());
+        assertEquals(90, parse("www 1m30s A 10.0.0.1\n").get(key("www", "A")).getTtl().intValue());
+    }
+
+    @Test
+    public void ttlOverflow() {
+        assertError("TTL 2147483648 is too large at test.zone:1!", "$TTL 2147483648\n");
+        assertError("TTL 3551w is too large at test.zone:1!", "$TTL 3551w\n");
+        assertError("TTL 99999999999999999999 is too large at test.zone:1!", "$TTL 99999999999999999999\n");
+        assertError("TTL 15250284452471w is too large at test.zone:1!", "$TTL 15250284452471w\n");
+    }
+
+    @Test
+    public void quotedStrings() {
+        Map<String, ResourceRecordSet> recordSets = parse(
+            "txt TXT \"v=spf1 ; include:_spf.example.com\" \"say \\\"hi\\\"\" ; comment\n"
+                + "esc TXT semi\\;colon\n");
+
+        assertRecordSet(
+            recordSets,
+            "txt.example.com.",
+            "TXT",
+            300,
+            "\"v=spf1 ; include:_spf.example.com\" \"say \\\"hi\\\"\"");
+
+        assertRecordSet(recordSets, "esc.example.com.", "TXT", 300, "semi\\;colon");
+    }
+
+    @Test
+    public void namesInRdataAreAbsolute() {
+        Map<String, ResourceRecordSet> recordSets = parse(
+            "@ MX 10 mail\n"
+                + "@ MX 20 mx.other.com.\n"
+                + "_sip._tcp SRV 10 60 5060 sip\n"
+                + "alias CNAME www\n"
+                + "@ NS ns1\n"
+                + "www A 10.0.0.1\n");
+
+        assertRecordSet(recordSets, "example.com.", "MX", 300, "10 mail.example.com.", "20 mx.other.com.");
+        assertRecordSet(recordSets, "_sip._tcp.example.com.", "SRV", 300, "10 60 5060 sip.example.com.");
+        assertRecordSet(recordSets, "alias.example.com.", "CNAME", 300, "www.example.com.");
+        assertRecordSet(recordSets, "example.com.", "NS", 300, "ns1.example.com.");
+        assertRecordSet(recordSets, "www.example.com.", "A", 300, "10.0.0.1");
+    }
+
+    @Test
+    public void unbalancedParentheses() {
+        assertError("Unbalanced parentheses at test.zone:2!", "www A ( 10.0.0.1\nmail A 10.0.0.2\n");
+        assertError("Unbalanced parentheses at test.zone:1!", "www A 10.0.0.1 )\n");
+    }
+
+    @Test
+    public void unterminatedQuotedString() {
+        assertError("Unterminated quoted string at test.zone:2!", "www A 10.0.0.1\ntxt TXT \"abc\n");
+    }
+
+    @Test
+    public void unknownDirective() {
+        assertError("Unsupported directive $INCLUDE at test.zone:1!", "$INCLUDE other.zone\n");
+    }
+
+    @Test
+    public void recordWithoutOwner() {
+        assertError("Record without an owner name at test.zone:1!", "  A 10.0.0.1\n");
+    }
+
+    private static Map<String, ResourceRecordSet> parse(String zoneFile) {
+        return ZoneFileParser.parse(
+            "test.zone",
+            new ByteArrayInputStream(zoneFile.getBytes(StandardCharsets.UTF_8)),
+            "example.com");
+    }
+
+    private static String key(String name, String type) {
+        return ZoneFileParser.key(name + ".example.com.", type);
+    }
+
+    private static void assertRecordSet(
+        Map<String, ResourceRecordSet> recordSets,
+        String name,
+        String type,
+        int ttl,
+        String... rrdatas) {
+
+        ResourceRecordSet recordSet = recordSets.get(ZoneFileParser.key(name, type));
+
+        assertNotNull(recordSet, String.format("No %s %s in %s", name, type, recordSets.keySet()));
+        assertEquals(name, recordSet.getName());
+        assertEquals(type, recordSet.getType());
+        assertEquals(ttl, recordSet.getTtl().intValue());
+        assertEquals(Arrays.asList(rrdatas), recordSet.getRrdatas());
+    }
+
+    private static void assertError(String message, String zoneFile) {
+        GyroException ex = assertThrows(GyroException.class, () -> parse(zoneFile));
+
+        assertEquals(message, ex.getMessage());
+    }
+}
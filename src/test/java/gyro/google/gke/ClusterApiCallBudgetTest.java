@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.gke;
+
+import com.google.cloud.container.v1beta1.ClusterManagerClient;
+import com.google.container.v1beta1.Cluster;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import gyro.google.FakeApiServer;
+import gyro.google.util.RefreshCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Budgets the cluster fetch that cluster and node pool refreshes share. The resources themselves resolve their
+ * network, subnetwork and parent cluster through a Gyro scope.
+ */
+public class ClusterApiCallBudgetTest {
+
+    private static final String PROJECT = "budget-test";
+
+    private static final int NODE_POOL_COUNT = 10;
+
+    private static FakeApiServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeApiServer();
+
+        server.route("GET", "/v1beta1/projects/{project}/locations/{location}/clusters/{cluster}", request -> {
+            JsonArray nodePools = new JsonArray();
+
+            for (int i = 0; i < NODE_POOL_COUNT; i++) {
+                JsonObject nodePool = new JsonObject();
+                nodePool.addProperty("name", String.format("pool-%02d", i));
+                nodePool.addProperty("status", "RUNNING");
+                nodePools.add(nodePool);
+            }
+
+            JsonObject cluster = new JsonObject();
+            cluster.addProperty("name", request.getParameter("cluster"));
+            cluster.addProperty("location", request.getParameter("location"));
+            cluster.addProperty("status", "RUNNING");
+            cluster.add("nodePools", nodePools);
+
+            return FakeApiServer.Response.ok(cluster);
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void reset() {
+        RefreshCache.invalidatePrefix("");
+        server.resetCalls();
+    }
+
+    @Test
+    public void nodePoolsShareClusterFetch() throws Exception {
+        ClusterResource cluster = FakeApiClients.bind(new ClusterResource(), server, PROJECT);
+        cluster.setName("budget-cluster");
+        cluster.setLocation("us-central1");
+
+        try (ClusterManagerClient client = cluster.createClient(ClusterManagerClient.class)) {
+            assertNotNull(cluster.getCluster(client));
+        }
+
+        for (int i = 0; i < NODE_POOL_COUNT; i++) {
+            Cluster snapshot = cluster.getClusterSnapshot();
+
+            assertNotNull(snapshot);
+            assertEquals(NODE_POOL_COUNT, snapshot.getNodePoolsCount());
+        }
+
+        ApiCallBudget.assertWithin("gke-cluster.refresh.node-pools.10", server);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.iam;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import gyro.google.FakeApiServer;
+import gyro.google.util.RefreshCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceAccountApiCallBudgetTest {
+
+    private static final String PROJECT = "budget-test";
+
+    private static final int ACCOUNT_COUNT = 20;
+
+    private static FakeApiServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeApiServer();
+
+        server.route("GET", "/v1/projects/{project}/serviceAccounts/{account}", request -> {
+            String account = request.getParameter("account");
+
+            return account.startsWith("account-")
+                ? FakeApiServer.Response.ok(account(account.substring(0, account.indexOf('@'))))
+                : FakeApiServer.Response.error(404, "Not found");
+        });
+
+        server.route("GET", "/v1/projects/{project}/serviceAccounts", request -> {
+            JsonArray accounts = new JsonArray();
+
+            for (int i = 0; i < ACCOUNT_COUNT; i++) {
+                accounts.add(account(accountName(i)));
+            }
+
+            JsonObject response = new JsonObject();
+            response.add("accounts", accounts);
+
+            return FakeApiServer.Response.ok(response);
+        });
+
+        server.route("POST", "/v1/projects/{project}:getIamPolicy", request -> {
+            JsonObject policy = new JsonObject();
+            policy.addProperty("version", 3);
+            policy.addProperty("etag", "BwW=");
+            policy.add("bindings", new JsonArray());
+
+            return FakeApiServer.Response.ok(policy);
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void reset() {
+        RefreshCache.invalidatePrefix("");
+        server.resetCalls();
+    }
+
+    @Test
+    public void refresh() throws Exception {
+        assertTrue(serviceAccount(accountName(0)).doRefresh());
+        ApiCallBudget.assertWithin("service-account.refresh", server);
+
+        assertTrue(serviceAccount(accountName(1)).doRefresh());
+        ApiCallBudget.assertWithin("service-account.refresh.second", server);
+    }
+
+    @Test
+    public void refreshMany() throws Exception {
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            ServiceAccountResource serviceAccount = serviceAccount(accountName(i));
+
+            assertTrue(serviceAccount.doRefresh());
+            assertEquals(accountName(i), serviceAccount.getName());
+        }
+
+        ApiCallBudget.assertWithin("service-account.refresh.20", server);
+    }
+
+    private static String accountName(int index) {
+        return String.format("account-%02d", index);
+    }
+
+    private static JsonObject account(String name) {
+        String email = String.format("%s@%s.iam.gserviceaccount.com", name, PROJECT);
+        JsonObject account = new JsonObject();
+        account.addProperty("name", String.format("projects/%s/serviceAccounts/%s", PROJECT, email));
+        account.addProperty("email", email);
+        account.addProperty("displayName", name);
+
+        return account;
+    }
+
+    private static ServiceAccountResource serviceAccount(String name) {
+        ServiceAccountResource serviceAccount = FakeApiClients.bind(new ServiceAccountResource(), server, PROJECT);
+
+        serviceAccount.setId(String.format(
+            "projects/%s/serviceAccounts/%s@%s.iam.gserviceaccount.com",
+            PROJECT,
+            name,
+            PROJECT));
+
+        return serviceAccount;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.kms;
+
+import com.google.cloud.kms.v1.KeyManagementServiceClient;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import gyro.google.FakeApiServer;
+import gyro.google.util.RefreshCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Budgets the lookups that crypto key and crypto key version refreshes delegate to. The resources themselves resolve
+ * their key ring or crypto key with ``findById``, which needs a Gyro scope.
+ */
+public class CryptoKeyIndexApiCallBudgetTest {
+
+    private static final String KEY_RING = "projects/budget-test/locations/global/keyRings/budget-ring";
+
+    private static final int KEY_COUNT = 10;
+
+    private static FakeApiServer server;
+
+    private KeyManagementServiceClient client;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeApiServer();
+
+        server.route("GET", "/v1/projects/{project}/locations/{location}/keyRings/{keyRing}/cryptoKeys", request -> {
+            JsonArray cryptoKeys = new JsonArray();
+
+            for (int i = 0; i < KEY_COUNT; i++) {
+                JsonObject primary = new JsonObject();
+                primary.addProperty("name", versionId(i, 1));
+                primary.addProperty("state", "ENABLED");
+
+                JsonObject cryptoKey = new JsonObject();
+                cryptoKey.addProperty("name", cryptoKeyId(i));
+                cryptoKey.addProperty("purpose", "ENCRYPT_DECRYPT");
+                cryptoKey.add("primary", primary);
+                cryptoKeys.add(cryptoKey);
+            }
+
+            JsonObject response = new JsonObject();
+            response.add("cryptoKeys", cryptoKeys);
+            response.addProperty("totalSize", KEY_COUNT);
+
+            return FakeApiServer.Response.ok(response);
+        });
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void reset() {
+        RefreshCache.invalidatePrefix("");
+        server.resetCalls();
+        client = FakeApiClients.create(KeyManagementServiceClient.class, server);
+    }
+
+    @AfterEach
+    public void closeClient() {
+        client.shutdownNow();
+    }
+
+    @Test
+    public void refreshCryptoKeys() throws Exception {
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertNotNull(CryptoKeyIndex.findCryptoKey(client, cryptoKeyId(i)));
+        }
+
+        ApiCallBudget.assertWithin("kms-crypto-key.refresh.10", server);
+    }
+
+    @Test
+    public void refreshPrimaryVersions() throws Exception {
+        CryptoKeyIndex.findCryptoKey(client, cryptoKeyId(0));
+        server.resetCalls();
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertNotNull(CryptoKeyIndex.findCryptoKeyVersion(client, versionId(i, 1)));
+        }
+
+        ApiCallBudget.assertWithin("kms-crypto-key-version.refresh.primary.10", server);
+    }
+
+    private static String cryptoKeyId(int index) {
+        return String.format("%s/cryptoKeys/key-%02d", KEY_RING, index);
+    }
+
+    private static String versionId(int index, int version) {
+        return String.format("%s/cryptoKeyVersions/%d", cryptoKeyId(index), version);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026, Brightspot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gyro.google.storage;
+
+import com.google.gson.JsonObject;
+import gyro.google.ApiCallBudget;
+import gyro.google.FakeApiClients;
+import gyro.google.FakeApiServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BucketApiCallBudgetTest {
+
+    private static final String PROJECT = "budget-test";
+
+    private static FakeApiServer server;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = new FakeApiServer();
+
+        server.route("GET", "/storage/v1/b/{bucket}", request -> {
+            JsonObject bucket = new JsonObject();
+            bucket.addProperty("kind", "storage#bucket");
+            bucket.addProperty("id", request.getParameter("bucket"));
+            bucket.addProperty("name", request.getParameter("bucket"));
+            bucket.addProperty("location", "US");
+            bucket.addProperty("storageClass", "STANDARD");
+
+            return FakeApiServer.Response.ok(bucket);
+        });
+
+        server.route("DELETE", "/storage/v1/b/{bucket}", request -> FakeApiServer.Response.ok(new JsonObject()));
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.resetCalls();
+    }
+
+    @Test
+    public void refreshWithoutIamPolicy() throws Exception {
+        BucketResource bucket = bucket("budget-bucket");
+
+        assertTrue(bucket.doRefresh());
+        assertEquals("US", bucket.getLocation());
+        ApiCallBudget.assertWithin("storage-bucket.refresh", server);
+    }
+
+    @Test
+    public void delete() throws Exception {
+        bucket("budget-bucket").doDelete(null, null);
+        ApiCallBudget.assertWithin("storage-bucket.delete", server);
+    }
+
+    private static BucketResource bucket(String name) {
+        BucketResource bucket = FakeApiClients.bind(new BucketResource(), server, PROJECT);
+
+        bucket.setName(name);
+
+        return bucket;
+    }
+}